@@ -3,6 +3,14 @@ package com.sotatek.order.client;
 import com.sotatek.order.model.dto.external.MemberResponse;
 import org.springframework.lang.NonNull;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface MemberClient {
     MemberResponse getMember(@NonNull String memberId);
+
+    /**
+     * Same lookup on the member service bulkhead, failed after its time limit
+     * instead of holding the caller.
+     */
+    CompletableFuture<MemberResponse> getMemberAsync(@NonNull String memberId);
 }
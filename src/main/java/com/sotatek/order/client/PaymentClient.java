@@ -4,8 +4,19 @@ import com.sotatek.order.model.dto.external.PaymentRequest;
 import com.sotatek.order.model.dto.external.PaymentResponse;
 import org.springframework.lang.NonNull;
 
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
 public interface PaymentClient {
     PaymentResponse createPayment(@NonNull PaymentRequest request);
 
-    PaymentResponse refundPayment(@NonNull String transactionId, @NonNull java.math.BigDecimal amount);
+    PaymentResponse refundPayment(@NonNull String transactionId, @NonNull BigDecimal amount);
+
+    /**
+     * Same call on the payment service bulkhead, failed after its time limit
+     * instead of holding the caller. A timed-out payment may still complete.
+     */
+    CompletableFuture<PaymentResponse> createPaymentAsync(@NonNull PaymentRequest request);
+
+    CompletableFuture<PaymentResponse> refundPaymentAsync(@NonNull String transactionId, @NonNull BigDecimal amount);
 }
@@ -4,8 +4,32 @@ import com.sotatek.order.model.dto.external.ProductResponse;
 import com.sotatek.order.model.dto.external.ProductStockResponse;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public interface ProductClient {
     ProductResponse getProduct(@NonNull String productId);
 
     ProductStockResponse getStock(@NonNull String productId);
+
+    /**
+     * Batch lookup. Unknown product ids are simply absent from the result map.
+     */
+    Map<String, ProductResponse> getProducts(@NonNull Collection<String> productIds);
+
+    /**
+     * Batch stock lookup. Unknown product ids are simply absent from the result map.
+     */
+    Map<String, ProductStockResponse> getStocks(@NonNull Collection<String> productIds);
+
+    // Async variants run on the product service bulkhead and fail after its time limit
+
+    CompletableFuture<ProductResponse> getProductAsync(@NonNull String productId);
+
+    CompletableFuture<ProductStockResponse> getStockAsync(@NonNull String productId);
+
+    CompletableFuture<Map<String, ProductResponse>> getProductsAsync(@NonNull Collection<String> productIds);
+
+    CompletableFuture<Map<String, ProductStockResponse>> getStocksAsync(@NonNull Collection<String> productIds);
 }
@@ -0,0 +1,31 @@
+package com.sotatek.order.client.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Adapts the synchronous fallback methods of the transport clients to their
+ * {@link CompletableFuture} variants.
+ */
+final class AsyncFallback {
+
+    private AsyncFallback() {
+    }
+
+    @FunctionalInterface
+    interface SyncFallback<T> {
+        T apply(Throwable cause) throws Throwable;
+    }
+
+    static <T> CompletableFuture<T> of(Throwable t, SyncFallback<T> fallback) {
+        Throwable cause = (t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null
+                ? t.getCause()
+                : t;
+        try {
+            return CompletableFuture.completedFuture(fallback.apply(cause));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
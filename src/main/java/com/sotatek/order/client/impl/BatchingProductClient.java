@@ -0,0 +1,153 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.ProductBatchingProperties;
+import com.sotatek.order.exception.ProductNotFoundException;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Decorator that turns concurrent single-id lookups (from many in-flight orders)
+ * into batched {@link ProductClient#getProducts} / {@link ProductClient#getStocks}
+ * calls on the delegate. Batches go through the delegate's async variants, so
+ * they run on its bulkhead and time limit.
+ *
+ * Bulk lookups are split into batches of the same maximum size, at most
+ * {@code bulkConcurrency} in flight, and the results merged.
+ */
+public class BatchingProductClient implements ProductClient, AutoCloseable {
+
+    private final ProductClient delegate;
+    private final ScheduledExecutorService scheduler;
+    private final int maxBatchSize;
+    private final int bulkConcurrency;
+    private final MicroBatcher<String, ProductResponse> productBatcher;
+    private final MicroBatcher<String, ProductStockResponse> stockBatcher;
+
+    public BatchingProductClient(ProductClient delegate, ProductBatchingProperties properties) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("product-batch-");
+        threadFactory.setDaemon(true);
+
+        this.delegate = delegate;
+        this.scheduler = Executors.newScheduledThreadPool(properties.getDispatchThreads(), threadFactory);
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.bulkConcurrency = properties.getBulkConcurrency();
+        this.productBatcher = new MicroBatcher<>(delegate::getProductsAsync, scheduler,
+                properties.getWindow(), properties.getMaxBatchSize());
+        this.stockBatcher = new MicroBatcher<>(delegate::getStocksAsync, scheduler,
+                properties.getWindow(), properties.getMaxBatchSize());
+    }
+
+    @Override
+    public ProductResponse getProduct(@NonNull String productId) {
+        return join(getProductAsync(productId));
+    }
+
+    @Override
+    public ProductStockResponse getStock(@NonNull String productId) {
+        return join(getStockAsync(productId));
+    }
+
+    @Override
+    public Map<String, ProductResponse> getProducts(@NonNull Collection<String> productIds) {
+        return join(getProductsAsync(productIds));
+    }
+
+    @Override
+    public Map<String, ProductStockResponse> getStocks(@NonNull Collection<String> productIds) {
+        return join(getStocksAsync(productIds));
+    }
+
+    @Override
+    public CompletableFuture<ProductResponse> getProductAsync(@NonNull String productId) {
+        return productBatcher.submit(productId).thenApply(product -> {
+            if (product == null) {
+                // Same contract as the single-id endpoint
+                throw new ProductNotFoundException("Product not found with id: " + productId);
+            }
+            return product;
+        });
+    }
+
+    @Override
+    public CompletableFuture<ProductStockResponse> getStockAsync(@NonNull String productId) {
+        // Dependent stage, so a caller cancelling it does not cancel the shared future
+        return stockBatcher.submit(productId).thenApply(stock -> stock);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ProductResponse>> getProductsAsync(@NonNull Collection<String> productIds) {
+        return inBatches(productIds, delegate::getProductsAsync);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ProductStockResponse>> getStocksAsync(
+            @NonNull Collection<String> productIds) {
+        return inBatches(productIds, delegate::getStocksAsync);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Dispatches the pending batches now rather than at the end of the window.
+     */
+    void flush() {
+        productBatcher.flush();
+        stockBatcher.flush();
+    }
+
+    /**
+     * Loads the ids in batches of at most {@code maxBatchSize}. The batches are spread
+     * over {@code bulkConcurrency} lanes, each sending its next batch when the previous
+     * one completes. Fails with the first batch failure.
+     */
+    private <V> CompletableFuture<Map<String, V>> inBatches(Collection<String> productIds,
+            Function<Collection<String>, CompletableFuture<Map<String, V>>> batchLoader) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(productIds));
+        if (ids.size() <= maxBatchSize) {
+            return batchLoader.apply(ids);
+        }
+
+        int batches = (ids.size() + maxBatchSize - 1) / maxBatchSize;
+        int lanes = Math.min(bulkConcurrency, batches);
+        Map<String, V> merged = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] laneFutures = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int batch = lane; batch < batches; batch += lanes) {
+                List<String> batchIds = ids.subList(batch * maxBatchSize,
+                        Math.min((batch + 1) * maxBatchSize, ids.size()));
+                chain = chain.thenCompose(ignored -> batchLoader.apply(batchIds)).thenAccept(merged::putAll);
+            }
+            laneFutures[lane] = chain;
+        }
+        return CompletableFuture.allOf(laneFutures).thenApply(ignored -> merged);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
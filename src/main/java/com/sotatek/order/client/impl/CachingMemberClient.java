@@ -0,0 +1,175 @@
+package com.sotatek.order.client.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sotatek.order.client.MemberClient;
+import com.sotatek.order.config.MemberCacheProperties;
+import com.sotatek.order.exception.MemberNotFoundException;
+import com.sotatek.order.model.dto.external.MemberResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorator caching member lookups. Found members are kept for {@code ttl};
+ * {@link MemberNotFoundException} outcomes are cached for the shorter
+ * {@code negativeTtl} so repeated lookups of unknown ids do not reach the
+ * member service.
+ *
+ * Lookups load outside the cache lock, so an {@link #invalidate} can land while
+ * a load is in flight. Every invalidation bumps a generation counter before it
+ * evicts; a load only stores its result if no invalidation started since the
+ * load began, so an eviction is never overwritten by the older answer.
+ */
+@Slf4j
+public class CachingMemberClient implements MemberClient {
+
+    static final String CACHE_NAME = "memberStatus";
+
+    private final MemberClient delegate;
+    private final boolean enabled;
+    private final Cache<String, MemberLookup> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CachingMemberClient(MemberClient delegate, MemberCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.enabled = properties.isEnabled();
+        long ttlNanos = properties.getTtl().toNanos();
+        long negativeTtlNanos = properties.getNegativeTtl().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, MemberLookup>() {
+                    @Override
+                    public long expireAfterCreate(String memberId, MemberLookup lookup, long currentTime) {
+                        return lookup.isNotFound() ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String memberId, MemberLookup lookup, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(memberId, lookup, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String memberId, MemberLookup lookup, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public MemberResponse getMember(@NonNull String memberId) {
+        if (!enabled) {
+            return delegate.getMember(memberId);
+        }
+
+        MemberLookup lookup = cache.getIfPresent(memberId);
+        if (lookup == null) {
+            long loadGeneration = generation.get();
+            // Loaded outside the cache's compute lock so a slow member service
+            // never blocks lookups of other keys
+            lookup = load(memberId);
+            if (lookup == null) {
+                return null;
+            }
+            store(memberId, lookup, loadGeneration);
+        }
+        return resolve(lookup);
+    }
+
+    @Override
+    public CompletableFuture<MemberResponse> getMemberAsync(@NonNull String memberId) {
+        if (!enabled) {
+            return delegate.getMemberAsync(memberId);
+        }
+
+        MemberLookup cached = cache.getIfPresent(memberId);
+        if (cached != null) {
+            try {
+                return CompletableFuture.completedFuture(resolve(cached));
+            } catch (MemberNotFoundException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        long loadGeneration = generation.get();
+        return delegate.getMemberAsync(memberId)
+                .handle((member, error) -> {
+                    if (error == null) {
+                        return member == null ? null : new MemberLookup(member, null);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof MemberNotFoundException e) {
+                        return new MemberLookup(null, e.getMessage());
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                })
+                .thenApply(lookup -> {
+                    if (lookup == null) {
+                        return null;
+                    }
+                    store(memberId, lookup, loadGeneration);
+                    return resolve(lookup);
+                });
+    }
+
+    /**
+     * Drops the cached status of a member, e.g. when it is deactivated.
+     */
+    public void invalidate(@NonNull String memberId) {
+        log.info("Invalidating cached member status: {}", memberId);
+        // Bumped before evicting, so a load in flight sees it when it stores
+        generation.incrementAndGet();
+        cache.invalidate(memberId);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Stores a loaded lookup unless an invalidation started after the load did.
+     * The check runs under the entry's lock, so an eviction racing with it is
+     * applied after the store and still removes the entry.
+     */
+    private void store(String memberId, MemberLookup lookup, long loadGeneration) {
+        cache.asMap().compute(memberId,
+                (id, current) -> generation.get() == loadGeneration ? lookup : current);
+    }
+
+    private static MemberResponse resolve(MemberLookup lookup) {
+        if (lookup.isNotFound()) {
+            throw new MemberNotFoundException(lookup.notFoundMessage());
+        }
+        return lookup.member();
+    }
+
+    private MemberLookup load(String memberId) {
+        try {
+            MemberResponse member = delegate.getMember(memberId);
+            return member == null ? null : new MemberLookup(member, null);
+        } catch (MemberNotFoundException e) {
+            return new MemberLookup(null, e.getMessage());
+        }
+    }
+
+    private record MemberLookup(MemberResponse member, String notFoundMessage) {
+        boolean isNotFound() {
+            return member == null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.sotatek.order.client.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.ProductCacheProperties;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorator caching product catalog data (name, price, status). Entries are
+ * refreshed asynchronously after {@code refreshAfterWrite}, so callers keep
+ * getting the current value while the reload runs. Stock is never cached.
+ *
+ * The cache holds futures: a miss installs the pending load and runs it through
+ * the delegate's async variants outside any map lock, so a remote call never
+ * holds a bin lock or pins the carrier of a virtual thread. Concurrent misses for
+ * the same id share one load, and every load is timed in the cache's stats.
+ *
+ * Stale data served by the last-known-good client below is passed through but
+ * never cached, so the catalog recovers as soon as the product service does. A
+ * refresh that only gets stale data fails, which keeps the current entry and its
+ * write time: it still expires after {@code expireAfterWrite}.
+ */
+public class CachingProductClient implements ProductClient {
+
+    static final String CACHE_NAME = "productCatalog";
+
+    private final ProductClient delegate;
+    private final AsyncLoadingCache<String, ProductResponse> cache;
+
+    public CachingProductClient(ProductClient delegate, ProductCacheProperties properties,
+            MeterRegistry meterRegistry, Executor refreshExecutor) {
+        this(delegate, properties, meterRegistry, refreshExecutor, Ticker.systemTicker());
+    }
+
+    CachingProductClient(ProductClient delegate, ProductCacheProperties properties, MeterRegistry meterRegistry,
+            Executor refreshExecutor, Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(properties.getMaximumSize())
+                .refreshAfterWrite(properties.getRefreshAfterWrite())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .executor(refreshExecutor)
+                .recordStats()
+                .buildAsync((productId, executor) -> delegate.getProductAsync(productId).thenApply(product -> {
+                    if (product != null && product.isStale()) {
+                        // Fails the load, so the entry is dropped; callers unwrap the product
+                        throw new StaleProductException(productId, product);
+                    }
+                    return product;
+                }));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    @Override
+    public ProductResponse getProduct(@NonNull String productId) {
+        return join(getProductAsync(productId));
+    }
+
+    @Override
+    public ProductStockResponse getStock(@NonNull String productId) {
+        return delegate.getStock(productId);
+    }
+
+    @Override
+    public Map<String, ProductResponse> getProducts(@NonNull Collection<String> productIds) {
+        return join(getProductsAsync(productIds));
+    }
+
+    @Override
+    public Map<String, ProductStockResponse> getStocks(@NonNull Collection<String> productIds) {
+        return delegate.getStocks(productIds);
+    }
+
+    @Override
+    public CompletableFuture<ProductResponse> getProductAsync(@NonNull String productId) {
+        // Dependent stage, so a caller cancelling it does not cancel the shared load
+        return cache.get(productId).exceptionally(CachingProductClient::staleProduct);
+    }
+
+    @Override
+    public CompletableFuture<ProductStockResponse> getStockAsync(@NonNull String productId) {
+        return delegate.getStockAsync(productId);
+    }
+
+    /**
+     * Loads the missing ids in one delegate call. Ids another caller is already
+     * loading are awaited; if that load leaves them out (e.g. only stale data came
+     * back) they are looked up again without caching.
+     */
+    @Override
+    public CompletableFuture<Map<String, ProductResponse>> getProductsAsync(@NonNull Collection<String> productIds) {
+        Set<String> loadedHere = ConcurrentHashMap.newKeySet();
+        Map<String, ProductResponse> stale = new ConcurrentHashMap<>();
+        return cache.getAll(productIds, (missing, executor) -> {
+            loadedHere.addAll(missing);
+            return delegate.getProductsAsync(new ArrayList<>(missing)).thenApply(loaded -> fresh(loaded, stale));
+        }).thenCompose(cached -> {
+            Map<String, ProductResponse> products = new HashMap<>(cached);
+            products.putAll(stale);
+            List<String> unresolved = productIds.stream()
+                    .filter(productId -> !products.containsKey(productId) && !loadedHere.contains(productId))
+                    .distinct()
+                    .toList();
+            if (unresolved.isEmpty()) {
+                return CompletableFuture.completedFuture(products);
+            }
+            return delegate.getProductsAsync(unresolved).thenApply(loaded -> {
+                products.putAll(loaded);
+                return products;
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ProductStockResponse>> getStocksAsync(
+            @NonNull Collection<String> productIds) {
+        return delegate.getStocksAsync(productIds);
+    }
+
+    // The fresh products, to be cached; stale ones are moved to the given map
+    private static Map<String, ProductResponse> fresh(Map<String, ProductResponse> loaded,
+            Map<String, ProductResponse> stale) {
+        Map<String, ProductResponse> fresh = new HashMap<>();
+        loaded.forEach((productId, product) -> (product.isStale() ? stale : fresh).put(productId, product));
+        return fresh;
+    }
+
+    private static ProductResponse staleProduct(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof StaleProductException stale) {
+            return stale.product;
+        }
+        throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Carries stale product data out of a failed load; no stack trace, it is not an error.
+     */
+    private static final class StaleProductException extends RuntimeException {
+
+        private final transient ProductResponse product;
+
+        StaleProductException(String productId, ProductResponse product) {
+            super("Not caching " + productId + " from " + product.getStaleness() + " ago", null, false, false);
+            this.product = product;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.config.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hedges one idempotent read operation of a downstream service; each operation
+ * has its own hedger, so a fast single lookup and a slower batch do not share a
+ * latency distribution. A call still running after
+ * the configured percentile of recent latencies gets a second attempt; the first
+ * successful answer wins and the other attempt is cancelled. A failed attempt
+ * only fails the call once no other attempt is left, and a call that fails
+ * before the delay is not hedged: failures are the retry's job.
+ *
+ * Extra load is capped twice: by {@code max-extra-load} hedges per successful
+ * read, and by the service's {@link RetryBudget} when one is configured, so
+ * hedges and retries together stay within the same budget.
+ *
+ * Cancelling the losing attempt only completes its future: the blocking call
+ * under it keeps its thread, connection and bulkhead permit until it answers or
+ * times out. A hedge is therefore only fired while {@code headroom} reports
+ * enough free bulkhead permits, so hedges cannot crowd out first attempts.
+ *
+ * Metrics: {@code order.hedge} (fired/won/denied per service and operation) and
+ * {@code order.hedge.delay}.
+ */
+public class Hedger implements AutoCloseable {
+
+    // The delay is recomputed from the samples every this many reads
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final int minSamples;
+    private final RetryBudget extraLoad;
+    private final Optional<RetryBudget> retryBudget;
+    private final BooleanSupplier headroom;
+    private final Counter fired;
+    private final Counter won;
+    private final Counter denied;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] samples;
+    private long recorded;
+    // Negative until enough samples are seen
+    private volatile long delayNanos = -1;
+
+    public Hedger(String service, String operation, HedgingProperties properties,
+            Optional<RetryBudget> retryBudget, BooleanSupplier headroom, MeterRegistry meterRegistry) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("hedge-" + operation + "-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        // Most timers are cancelled because the first attempt answered in time
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.percentile = properties.getPercentile();
+        this.minDelayNanos = properties.getMinDelay().toNanos();
+        this.maxDelayNanos = properties.getMaxDelay().toNanos();
+        this.minSamples = Math.max(1, properties.getMinSamples());
+        this.samples = new long[Math.max(this.minSamples, properties.getSampleSize())];
+        this.extraLoad = new RetryBudget(properties.getMaxExtraLoad(), 0, properties.getWindow());
+        this.retryBudget = retryBudget;
+        this.headroom = headroom;
+        this.fired = hedgeCounter(meterRegistry, service, operation, "fired");
+        this.won = hedgeCounter(meterRegistry, service, operation, "won");
+        this.denied = hedgeCounter(meterRegistry, service, operation, "denied");
+        Gauge.builder("order.hedge.delay", this, hedger -> Math.max(0, hedger.delayNanos) / 1_000_000.0)
+                .tag("service", service)
+                .tag("operation", operation)
+                .baseUnit("milliseconds")
+                .description("Latency after which a read gets a second attempt")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> hedge(Supplier<CompletableFuture<T>> call) {
+        Race<T> race = new Race<>(call);
+        race.launch(false);
+        long delay = delayNanos;
+        if (delay >= 0 && !race.result.isDone()) {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            ScheduledFuture<?> timer = scheduler.schedule(() -> fireHedge(race, context), delay,
+                    TimeUnit.NANOSECONDS);
+            race.result.whenComplete((value, error) -> timer.cancel(false));
+        }
+        return race.result;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void fireHedge(Race<?> race, Map<String, String> context) {
+        if (race.result.isDone()) {
+            return;
+        }
+        if (!headroom.getAsBoolean() || !extraLoad.tryAcquire()) {
+            denied.increment();
+            return;
+        }
+        if (!retryBudget.map(RetryBudget::tryAcquire).orElse(true)) {
+            extraLoad.release();
+            denied.increment();
+            return;
+        }
+        fired.increment();
+
+        // The client call executor copies the MDC of the calling thread
+        if (context != null) {
+            MDC.setContextMap(context);
+        }
+        try {
+            race.launch(true);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void record(long latencyNanos) {
+        lock.lock();
+        try {
+            samples[(int) (recorded % samples.length)] = latencyNanos;
+            recorded++;
+            if (recorded >= minSamples && (recorded == minSamples || recorded % RECOMPUTE_EVERY == 0)) {
+                long[] sorted = Arrays.copyOf(samples, (int) Math.min(recorded, samples.length));
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile * sorted.length) - 1;
+                long value = sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+                delayNanos = Math.min(maxDelayNanos, Math.max(minDelayNanos, value));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String service, String operation,
+            String outcome) {
+        return Counter.builder("order.hedge")
+                .tag("service", service)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .description("Hedged reads fired, won by the hedge, or denied by the load cap or a busy bulkhead")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The attempts of one call and its combined result.
+     */
+    private final class Race<T> {
+        private final Supplier<CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger running = new AtomicInteger();
+
+        private Race(Supplier<CompletableFuture<T>> call) {
+            this.call = call;
+            // Cancels the loser, or every attempt if the caller cancels
+            result.whenComplete((value, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        }
+
+        private void launch(boolean hedge) {
+            running.incrementAndGet();
+            long start = System.nanoTime();
+            CompletableFuture<T> attempt;
+            try {
+                attempt = call.get();
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempts.add(attempt);
+            if (result.isDone()) {
+                attempt.cancel(true);
+            }
+            attempt.whenComplete((value, error) -> {
+                int left = running.decrementAndGet();
+                if (error == null) {
+                    record(System.nanoTime() - start);
+                    extraLoad.recordSuccess();
+                    if (result.complete(value) && hedge) {
+                        won.increment();
+                    }
+                } else if (left == 0) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.MemberClient;
+import com.sotatek.order.model.dto.external.MemberResponse;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decorator hedging the async member lookup used on the order path. The
+ * blocking variant is passed through.
+ */
+public class HedgingMemberClient implements MemberClient, AutoCloseable {
+
+    private final MemberClient delegate;
+    private final Hedger hedger;
+
+    public HedgingMemberClient(MemberClient delegate, Hedger hedger) {
+        this.delegate = delegate;
+        this.hedger = hedger;
+    }
+
+    @Override
+    public MemberResponse getMember(@NonNull String memberId) {
+        return delegate.getMember(memberId);
+    }
+
+    @Override
+    public CompletableFuture<MemberResponse> getMemberAsync(@NonNull String memberId) {
+        return hedger.hedge(() -> delegate.getMemberAsync(memberId));
+    }
+
+    @Override
+    public void close() {
+        hedger.close();
+    }
+}
@@ -0,0 +1,83 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import org.springframework.lang.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Decorator hedging the async product and stock lookups used on the order path,
+ * including the batches sent by {@link BatchingProductClient}. Each operation
+ * gets its own {@link Hedger}, named by the method, so a batch never hedges on
+ * the single-lookup latency. The blocking variants are passed through.
+ */
+public class HedgingProductClient implements ProductClient, AutoCloseable {
+
+    private final ProductClient delegate;
+    private final Hedger productHedger;
+    private final Hedger stockHedger;
+    private final Hedger productsHedger;
+    private final Hedger stocksHedger;
+
+    public HedgingProductClient(ProductClient delegate, Function<String, Hedger> hedgers) {
+        this.delegate = delegate;
+        this.productHedger = hedgers.apply("getProduct");
+        this.stockHedger = hedgers.apply("getStock");
+        this.productsHedger = hedgers.apply("getProducts");
+        this.stocksHedger = hedgers.apply("getStocks");
+    }
+
+    @Override
+    public ProductResponse getProduct(@NonNull String productId) {
+        return delegate.getProduct(productId);
+    }
+
+    @Override
+    public ProductStockResponse getStock(@NonNull String productId) {
+        return delegate.getStock(productId);
+    }
+
+    @Override
+    public Map<String, ProductResponse> getProducts(@NonNull Collection<String> productIds) {
+        return delegate.getProducts(productIds);
+    }
+
+    @Override
+    public Map<String, ProductStockResponse> getStocks(@NonNull Collection<String> productIds) {
+        return delegate.getStocks(productIds);
+    }
+
+    @Override
+    public CompletableFuture<ProductResponse> getProductAsync(@NonNull String productId) {
+        return productHedger.hedge(() -> delegate.getProductAsync(productId));
+    }
+
+    @Override
+    public CompletableFuture<ProductStockResponse> getStockAsync(@NonNull String productId) {
+        return stockHedger.hedge(() -> delegate.getStockAsync(productId));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ProductResponse>> getProductsAsync(@NonNull Collection<String> productIds) {
+        return productsHedger.hedge(() -> delegate.getProductsAsync(productIds));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ProductStockResponse>> getStocksAsync(
+            @NonNull Collection<String> productIds) {
+        return stocksHedger.hedge(() -> delegate.getStocksAsync(productIds));
+    }
+
+    @Override
+    public void close() {
+        productHedger.close();
+        stockHedger.close();
+        productsHedger.close();
+        stocksHedger.close();
+    }
+}
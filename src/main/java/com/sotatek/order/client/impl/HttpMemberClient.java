@@ -0,0 +1,76 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.MemberClient;
+import com.sotatek.order.exception.MemberNotFoundException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.MemberResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Member service over HTTP ({@code GET /api/members/{memberId}}).
+ */
+@Slf4j
+@Component
+@Profile("http")
+@Qualifier("memberTransport")
+@RequiredArgsConstructor
+public class HttpMemberClient implements MemberClient {
+
+    @Qualifier("memberRestClient")
+    private final RestClient restClient;
+
+    @Qualifier("clientCallExecutor")
+    private final Executor callExecutor;
+
+    @Override
+    @CircuitBreaker(name = "memberService", fallbackMethod = "memberFallback")
+    @Retry(name = "memberService")
+    public MemberResponse getMember(@NonNull String memberId) {
+        return restClient.get()
+                .uri("/api/members/{memberId}", memberId)
+                .retrieve()
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.NOT_FOUND), (request, response) -> {
+                    throw new MemberNotFoundException("Member not found with id: " + memberId);
+                })
+                .onStatus(HttpStatusCode::is5xxServerError, (request, response) -> {
+                    throw new ServiceUnavailableException("Member service returned " + response.getStatusCode());
+                })
+                .body(MemberResponse.class);
+    }
+
+    @Override
+    @Bulkhead(name = "memberService")
+    @TimeLimiter(name = "memberService")
+    @CircuitBreaker(name = "memberService", fallbackMethod = "memberAsyncFallback")
+    @Retry(name = "memberService")
+    public CompletableFuture<MemberResponse> getMemberAsync(@NonNull String memberId) {
+        return CompletableFuture.supplyAsync(() -> getMember(memberId), callExecutor);
+    }
+
+    public MemberResponse memberFallback(String memberId, Throwable t) throws Throwable {
+        if (t instanceof MemberNotFoundException) {
+            throw t;
+        }
+        log.error("Member service fallback for id: {}, error: {}", memberId, t.getMessage());
+        throw new ServiceUnavailableException("Member service is temporarily unavailable: " + t.getMessage());
+    }
+
+    public CompletableFuture<MemberResponse> memberAsyncFallback(String memberId, Throwable t) {
+        return AsyncFallback.of(t, cause -> memberFallback(memberId, cause));
+    }
+}
@@ -0,0 +1,179 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.PaymentClient;
+import com.sotatek.order.config.HttpClientProperties;
+import com.sotatek.order.exception.PaymentFailedException;
+import com.sotatek.order.exception.PaymentOutcomeUnknownException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.ExternalErrorResponse;
+import com.sotatek.order.model.dto.external.PaymentRequest;
+import com.sotatek.order.model.dto.external.PaymentResponse;
+import com.sotatek.order.model.enums.ExternalStatus;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClient.RequestHeadersSpec.ConvertibleClientHttpResponse;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Payment service over HTTP ({@code POST /api/payments}).
+ *
+ * A declined payment (422) is returned as a FAILED payment, like the mock does.
+ * Each payment carries an {@code Idempotency-Key} derived from the order id. The
+ * published API does not define that header, so nothing relies on it: a call
+ * whose outcome is unknown is never sent again.
+ *
+ * The published API has no refund operation. Refunds are sent to the assumed
+ * {@code POST /api/payments/{transactionId}/refund} only when
+ * {@code order.http.payment.refund-enabled} is set; otherwise they fail and the
+ * order ends up REFUND_FAILED for a manual refund.
+ */
+@Slf4j
+@Component
+@Profile("http")
+@RequiredArgsConstructor
+public class HttpPaymentClient implements PaymentClient {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    @Qualifier("paymentRestClient")
+    private final RestClient restClient;
+
+    @Qualifier("clientCallExecutor")
+    private final Executor callExecutor;
+
+    private final HttpClientProperties properties;
+
+    @Override
+    @CircuitBreaker(name = "paymentService", fallbackMethod = "paymentFallback")
+    @Retry(name = "paymentService")
+    public PaymentResponse createPayment(@NonNull PaymentRequest request) {
+        return restClient.post()
+                .uri("/api/payments")
+                .header(IDEMPOTENCY_KEY_HEADER, "order-" + request.getOrderId())
+                .body(request)
+                .exchange((httpRequest, response) -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        return response.bodyTo(PaymentResponse.class);
+                    }
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.UNPROCESSABLE_ENTITY)) {
+                        log.warn("Payment declined for order {}: {}", request.getOrderId(),
+                                errorMessage(response));
+                        return PaymentResponse.builder()
+                                .orderId(request.getOrderId())
+                                .amount(request.getAmount())
+                                .status(ExternalStatus.Payment.FAILED.getValue())
+                                .build();
+                    }
+                    throw toException(response);
+                });
+    }
+
+    @Override
+    @CircuitBreaker(name = "paymentService", fallbackMethod = "refundFallback")
+    @Retry(name = "paymentService")
+    public PaymentResponse refundPayment(@NonNull String transactionId, @NonNull BigDecimal amount) {
+        if (!properties.getPayment().isRefundEnabled()) {
+            throw new PaymentFailedException("Refunds are disabled: the payment API has no refund operation");
+        }
+        return restClient.post()
+                .uri("/api/payments/{transactionId}/refund", transactionId)
+                .header(IDEMPOTENCY_KEY_HEADER, "refund-" + transactionId)
+                .body(Map.of("amount", amount))
+                .exchange((httpRequest, response) -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        return response.bodyTo(PaymentResponse.class);
+                    }
+                    throw toException(response);
+                });
+    }
+
+    private static RuntimeException toException(ConvertibleClientHttpResponse response) throws IOException {
+        String message = errorMessage(response);
+        HttpStatusCode status = response.getStatusCode();
+        if (status.isSameCodeAs(HttpStatus.BAD_REQUEST) || status.isSameCodeAs(HttpStatus.UNPROCESSABLE_ENTITY)) {
+            // Invalid or declined: processed and refused
+            return new PaymentFailedException(message);
+        }
+        if (status.is5xxServerError() && !status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || status.isSameCodeAs(HttpStatus.CONFLICT)) {
+            // May come after the charge went through, e.g. a gateway timeout or a payment in progress
+            return new PaymentOutcomeUnknownException("Payment service returned " + status + ": " + message);
+        }
+        // Refused before processing (503, 408, 429, or e.g. 401 on bad credentials); safe to retry
+        return new ServiceUnavailableException("Payment service returned " + status + ": " + message);
+    }
+
+    // Falls back to the status text when the body is not the documented error JSON, e.g. from a proxy
+    private static String errorMessage(ConvertibleClientHttpResponse response) throws IOException {
+        try {
+            ExternalErrorResponse error = response.bodyTo(ExternalErrorResponse.class);
+            if (error != null && error.getMessage() != null) {
+                return error.getMessage();
+            }
+        } catch (RestClientException e) {
+            log.debug("Unreadable payment service error body: {}", e.getMessage());
+        }
+        return response.getStatusText();
+    }
+
+    @Override
+    @Bulkhead(name = "paymentService")
+    @TimeLimiter(name = "paymentService")
+    @CircuitBreaker(name = "paymentService", fallbackMethod = "paymentAsyncFallback")
+    @Retry(name = "paymentService")
+    public CompletableFuture<PaymentResponse> createPaymentAsync(@NonNull PaymentRequest request) {
+        return CompletableFuture.supplyAsync(() -> createPayment(request), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "paymentService")
+    @TimeLimiter(name = "paymentService")
+    @CircuitBreaker(name = "paymentService", fallbackMethod = "refundAsyncFallback")
+    @Retry(name = "paymentService")
+    public CompletableFuture<PaymentResponse> refundPaymentAsync(@NonNull String transactionId,
+            @NonNull BigDecimal amount) {
+        return CompletableFuture.supplyAsync(() -> refundPayment(transactionId, amount), callExecutor);
+    }
+
+    public PaymentResponse paymentFallback(PaymentRequest request, Throwable t) throws Throwable {
+        if (t instanceof PaymentFailedException) {
+            throw t;
+        }
+        log.error("Payment service fallback for order: {}, error: {}", request.getOrderId(), t.getMessage());
+        throw PaymentFailures.unavailable("Payment", t);
+    }
+
+    public PaymentResponse refundFallback(String transactionId, BigDecimal amount, Throwable t) throws Throwable {
+        if (t instanceof PaymentFailedException) {
+            throw t;
+        }
+        log.error("Refund service fallback for transaction: {}, error: {}", transactionId, t.getMessage());
+        throw PaymentFailures.unavailable("Refund", t);
+    }
+
+    public CompletableFuture<PaymentResponse> paymentAsyncFallback(PaymentRequest request, Throwable t) {
+        return AsyncFallback.of(t, cause -> paymentFallback(request, cause));
+    }
+
+    public CompletableFuture<PaymentResponse> refundAsyncFallback(String transactionId, BigDecimal amount,
+            Throwable t) {
+        return AsyncFallback.of(t, cause -> refundFallback(transactionId, amount, cause));
+    }
+}
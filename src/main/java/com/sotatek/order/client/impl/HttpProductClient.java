@@ -0,0 +1,230 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.exception.ProductNotFoundException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Product service over HTTP ({@code GET /api/products/{id}} and
+ * {@code GET /api/products/{id}/stock}).
+ *
+ * The API has no batch endpoint, so batch lookups issue one request per id in
+ * parallel. Their concurrency is bounded by the connection pool of the product
+ * service, not by a shared thread pool.
+ */
+@Slf4j
+@Component
+@Profile("http")
+@Qualifier("productTransport")
+public class HttpProductClient implements ProductClient, AutoCloseable {
+
+    private final RestClient restClient;
+    private final Executor callExecutor;
+    // Virtual threads: each one only waits for a pooled connection and its response
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    public HttpProductClient(@Qualifier("productRestClient") RestClient restClient,
+            @Qualifier("clientCallExecutor") Executor callExecutor) {
+        this.restClient = restClient;
+        this.callExecutor = callExecutor;
+    }
+
+    @Override
+    @CircuitBreaker(name = "productService", fallbackMethod = "productFallback")
+    @Retry(name = "productService")
+    public ProductResponse getProduct(@NonNull String productId) {
+        return fetchProduct(productId);
+    }
+
+    @Override
+    @CircuitBreaker(name = "productService", fallbackMethod = "stockFallback")
+    @Retry(name = "productService")
+    public ProductStockResponse getStock(@NonNull String productId) {
+        return fetchStock(productId);
+    }
+
+    @Override
+    @CircuitBreaker(name = "productService", fallbackMethod = "productsFallback")
+    @Retry(name = "productService")
+    public Map<String, ProductResponse> getProducts(@NonNull Collection<String> productIds) {
+        return fetchAll(productIds, this::fetchProduct);
+    }
+
+    @Override
+    @CircuitBreaker(name = "productService", fallbackMethod = "stocksFallback")
+    @Retry(name = "productService")
+    public Map<String, ProductStockResponse> getStocks(@NonNull Collection<String> productIds) {
+        return fetchAll(productIds, this::fetchStock);
+    }
+
+    private ProductResponse fetchProduct(String productId) {
+        return restClient.get()
+                .uri("/api/products/{productId}", productId)
+                .retrieve()
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.NOT_FOUND), (request, response) -> {
+                    throw new ProductNotFoundException("Product not found with id: " + productId);
+                })
+                .onStatus(HttpStatusCode::is5xxServerError, (request, response) -> {
+                    throw new ServiceUnavailableException("Product service returned " + response.getStatusCode());
+                })
+                .body(ProductResponse.class);
+    }
+
+    private ProductStockResponse fetchStock(String productId) {
+        return restClient.get()
+                .uri("/api/products/{productId}/stock", productId)
+                .retrieve()
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.NOT_FOUND), (request, response) -> {
+                    throw new ProductNotFoundException("Product not found with id: " + productId);
+                })
+                .onStatus(HttpStatusCode::is5xxServerError, (request, response) -> {
+                    throw new ServiceUnavailableException("Stock service returned " + response.getStatusCode());
+                })
+                .body(ProductStockResponse.class);
+    }
+
+    // Unknown ids are left out of the result, as the batch contract requires
+    private <T> Map<String, T> fetchAll(Collection<String> productIds, Function<String, T> fetch) {
+        List<String> ids = productIds.stream().distinct().toList();
+        List<CompletableFuture<T>> futures = ids.stream()
+                .map(productId -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return fetch.apply(productId);
+                    } catch (ProductNotFoundException e) {
+                        return null;
+                    }
+                }, fanOut))
+                .toList();
+
+        Map<String, T> results = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            T value = join(futures.get(i));
+            if (value != null) {
+                results.put(ids.get(i), value);
+            }
+        }
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Waits for in-flight batch lookups, each bounded by the read timeout
+    @Override
+    public void close() {
+        fanOut.close();
+    }
+
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "productAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<ProductResponse> getProductAsync(@NonNull String productId) {
+        return CompletableFuture.supplyAsync(() -> getProduct(productId), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "stockAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<ProductStockResponse> getStockAsync(@NonNull String productId) {
+        return CompletableFuture.supplyAsync(() -> getStock(productId), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "productsAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<Map<String, ProductResponse>> getProductsAsync(@NonNull Collection<String> productIds) {
+        return CompletableFuture.supplyAsync(() -> getProducts(productIds), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "stocksAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<Map<String, ProductStockResponse>> getStocksAsync(@NonNull Collection<String> productIds) {
+        return CompletableFuture.supplyAsync(() -> getStocks(productIds), callExecutor);
+    }
+
+    public ProductResponse productFallback(String productId, Throwable t) throws Throwable {
+        if (t instanceof ProductNotFoundException) {
+            throw t;
+        }
+        log.error("Product service fallback for id: {}, error: {}", productId, t.getMessage());
+        throw new ServiceUnavailableException("Product service is temporarily unavailable: " + t.getMessage());
+    }
+
+    public ProductStockResponse stockFallback(String productId, Throwable t) throws Throwable {
+        if (t instanceof ProductNotFoundException) {
+            throw t;
+        }
+        log.error("Stock service fallback for id: {}, error: {}", productId, t.getMessage());
+        throw new ServiceUnavailableException("Stock service is temporarily unavailable: " + t.getMessage());
+    }
+
+    public Map<String, ProductResponse> productsFallback(Collection<String> productIds, Throwable t) {
+        log.error("Product service fallback for ids: {}, error: {}", productIds, t.getMessage());
+        throw new ServiceUnavailableException("Product service is temporarily unavailable: " + t.getMessage());
+    }
+
+    public Map<String, ProductStockResponse> stocksFallback(Collection<String> productIds, Throwable t) {
+        log.error("Stock service fallback for ids: {}, error: {}", productIds, t.getMessage());
+        throw new ServiceUnavailableException("Stock service is temporarily unavailable: " + t.getMessage());
+    }
+
+    public CompletableFuture<ProductResponse> productAsyncFallback(String productId, Throwable t) {
+        return AsyncFallback.of(t, cause -> productFallback(productId, cause));
+    }
+
+    public CompletableFuture<ProductStockResponse> stockAsyncFallback(String productId, Throwable t) {
+        return AsyncFallback.of(t, cause -> stockFallback(productId, cause));
+    }
+
+    public CompletableFuture<Map<String, ProductResponse>> productsAsyncFallback(Collection<String> productIds,
+            Throwable t) {
+        return AsyncFallback.of(t, cause -> productsFallback(productIds, cause));
+    }
+
+    public CompletableFuture<Map<String, ProductStockResponse>> stocksAsyncFallback(Collection<String> productIds,
+            Throwable t) {
+        return AsyncFallback.of(t, cause -> stocksFallback(productIds, cause));
+    }
+}
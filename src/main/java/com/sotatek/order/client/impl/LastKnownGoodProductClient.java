@@ -0,0 +1,228 @@
+package com.sotatek.order.client.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.ProductFallbackProperties;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator remembering the last product and stock data fetched successfully.
+ * When the product service is unavailable, whether retries ran out or the
+ * circuit is open, that data is served instead if it is younger than
+ * {@code order.product-fallback.max-staleness}. Served copies carry their age in
+ * {@code staleness}: the catalog cache does not store them, and the order service
+ * logs the age of the prices it charges from them.
+ *
+ * Stale stock is conservative: only {@code stock-factor} of the last known
+ * available quantity is offered, since other instances may have sold the rest
+ * in the meantime. A batch is served only if every id is known; a partial
+ * answer would read as unknown products.
+ *
+ * Business errors such as an unknown product pass through unchanged.
+ */
+@Slf4j
+public class LastKnownGoodProductClient implements ProductClient {
+
+    private final ProductClient delegate;
+    private final ProductFallbackProperties properties;
+    private final LongSupplier clock;
+    private final Cache<String, Snapshot<ProductResponse>> products;
+    private final Cache<String, Snapshot<ProductStockResponse>> stocks;
+    private final Map<String, Counter> counters = new LinkedHashMap<>();
+
+    public LastKnownGoodProductClient(ProductClient delegate, ProductFallbackProperties properties,
+            MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, System::nanoTime);
+    }
+
+    LastKnownGoodProductClient(ProductClient delegate, ProductFallbackProperties properties,
+            MeterRegistry meterRegistry, LongSupplier clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.clock = clock;
+        this.products = Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).build();
+        this.stocks = Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).build();
+        for (String type : new String[] { "product", "stock" }) {
+            for (String outcome : new String[] { "served", "rejected" }) {
+                counters.put(type + outcome, Counter.builder("order.product.fallback")
+                        .description("Product lookups answered from last-known-good data while the service failed")
+                        .tag("type", type)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    public ProductResponse getProduct(@NonNull String productId) {
+        try {
+            return rememberProduct(productId, delegate.getProduct(productId));
+        } catch (ServiceUnavailableException e) {
+            return staleProduct(productId, e);
+        }
+    }
+
+    @Override
+    public ProductStockResponse getStock(@NonNull String productId) {
+        try {
+            return rememberStock(productId, delegate.getStock(productId));
+        } catch (ServiceUnavailableException e) {
+            return staleStock(productId, e);
+        }
+    }
+
+    @Override
+    public Map<String, ProductResponse> getProducts(@NonNull Collection<String> productIds) {
+        try {
+            return rememberProducts(delegate.getProducts(productIds));
+        } catch (ServiceUnavailableException e) {
+            return staleAll(productIds, e, this::staleProduct);
+        }
+    }
+
+    @Override
+    public Map<String, ProductStockResponse> getStocks(@NonNull Collection<String> productIds) {
+        try {
+            return rememberStocks(delegate.getStocks(productIds));
+        } catch (ServiceUnavailableException e) {
+            return staleAll(productIds, e, this::staleStock);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ProductResponse> getProductAsync(@NonNull String productId) {
+        return recover(delegate.getProductAsync(productId),
+                product -> rememberProduct(productId, product),
+                e -> staleProduct(productId, e));
+    }
+
+    @Override
+    public CompletableFuture<ProductStockResponse> getStockAsync(@NonNull String productId) {
+        return recover(delegate.getStockAsync(productId),
+                stock -> rememberStock(productId, stock),
+                e -> staleStock(productId, e));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ProductResponse>> getProductsAsync(@NonNull Collection<String> productIds) {
+        return recover(delegate.getProductsAsync(productIds), this::rememberProducts,
+                e -> staleAll(productIds, e, this::staleProduct));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, ProductStockResponse>> getStocksAsync(
+            @NonNull Collection<String> productIds) {
+        return recover(delegate.getStocksAsync(productIds), this::rememberStocks,
+                e -> staleAll(productIds, e, this::staleStock));
+    }
+
+    private ProductResponse rememberProduct(String productId, ProductResponse product) {
+        if (product != null && !product.isStale()) {
+            products.put(productId, new Snapshot<>(product, clock.getAsLong()));
+        }
+        return product;
+    }
+
+    private ProductStockResponse rememberStock(String productId, ProductStockResponse stock) {
+        if (stock != null && !stock.isStale()) {
+            stocks.put(productId, new Snapshot<>(stock, clock.getAsLong()));
+        }
+        return stock;
+    }
+
+    private Map<String, ProductResponse> rememberProducts(Map<String, ProductResponse> loaded) {
+        loaded.forEach(this::rememberProduct);
+        return loaded;
+    }
+
+    private Map<String, ProductStockResponse> rememberStocks(Map<String, ProductStockResponse> loaded) {
+        loaded.forEach(this::rememberStock);
+        return loaded;
+    }
+
+    private ProductResponse staleProduct(String productId, ServiceUnavailableException cause) {
+        Snapshot<ProductResponse> snapshot = fresh(products, productId, "product", cause);
+        ProductResponse product = snapshot.value();
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .status(product.getStatus())
+                .staleness(snapshot.age(clock))
+                .build();
+    }
+
+    private ProductStockResponse staleStock(String productId, ServiceUnavailableException cause) {
+        Snapshot<ProductStockResponse> snapshot = fresh(stocks, productId, "stock", cause);
+        ProductStockResponse stock = snapshot.value();
+        int available = stock.getAvailableQuantity() == null ? 0
+                : (int) Math.floor(stock.getAvailableQuantity() * properties.getStockFactor());
+        return ProductStockResponse.builder()
+                .productId(stock.getProductId())
+                .quantity(stock.getQuantity())
+                .reservedQuantity(stock.getReservedQuantity())
+                .availableQuantity(available)
+                .staleness(snapshot.age(clock))
+                .build();
+    }
+
+    private <T> Snapshot<T> fresh(Cache<String, Snapshot<T>> store, String productId, String type,
+            ServiceUnavailableException cause) {
+        Snapshot<T> snapshot = store.getIfPresent(productId);
+        if (snapshot == null || snapshot.age(clock).compareTo(properties.getMaxStaleness()) > 0) {
+            counters.get(type + "rejected").increment();
+            throw cause;
+        }
+        counters.get(type + "served").increment();
+        log.warn("Product service unavailable, serving {} {} from {} ago: {}", type, productId,
+                snapshot.age(clock), cause.getMessage());
+        return snapshot;
+    }
+
+    private static <T> Map<String, T> staleAll(Collection<String> productIds, ServiceUnavailableException cause,
+            BiFunction<String, ServiceUnavailableException, T> stale) {
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            result.putIfAbsent(productId, stale.apply(productId, cause));
+        }
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> recover(CompletableFuture<T> call, Function<T, T> onSuccess,
+            Function<ServiceUnavailableException, T> onUnavailable) {
+        return call.handle((value, t) -> {
+            if (t == null) {
+                return onSuccess.apply(value);
+            }
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            if (cause instanceof ServiceUnavailableException unavailable) {
+                return onUnavailable.apply(unavailable);
+            }
+            throw t instanceof CompletionException completion ? completion : new CompletionException(cause);
+        });
+    }
+
+    private record Snapshot<T>(T value, long storedAt) {
+
+        Duration age(LongSupplier clock) {
+            return Duration.ofNanos(clock.getAsLong() - storedAt);
+        }
+    }
+}
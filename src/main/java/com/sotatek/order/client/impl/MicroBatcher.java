@@ -0,0 +1,113 @@
+package com.sotatek.order.client.impl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces single-key lookups that arrive within a short window into one batch
+ * call. Concurrent lookups of the same key share the pending future; a batch is
+ * dispatched when the window elapses or when it reaches the maximum size. The
+ * batch loader is asynchronous, so dispatch threads never wait on the call.
+ *
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized} so a
+ * virtual thread waiting for the lock does not pin its carrier.
+ */
+class MicroBatcher<K, V> {
+
+    private final Function<Set<K>, CompletableFuture<Map<K, V>>> batchLoader;
+    private final ScheduledExecutorService scheduler;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+
+    MicroBatcher(Function<Set<K>, CompletableFuture<Map<K, V>>> batchLoader, ScheduledExecutorService scheduler,
+            Duration window, int maxBatchSize) {
+        this.batchLoader = batchLoader;
+        this.scheduler = scheduler;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns a future completed with the value for the key, or with null when the
+     * batch result does not contain it. Callers must not cancel the returned
+     * future since it may be shared.
+     */
+    CompletableFuture<V> submit(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> fullBatch = null;
+        boolean firstInBatch;
+
+        lock.lock();
+        try {
+            CompletableFuture<V> existing = pending.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            firstInBatch = pending.size() == 1;
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = pending;
+                pending = new HashMap<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            Map<K, CompletableFuture<V>> batch = fullBatch;
+            scheduler.execute(() -> dispatch(batch));
+        } else if (firstInBatch) {
+            scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Dispatches the pending batch now; called when the window elapses.
+     */
+    void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        CompletableFuture<Map<K, V>> results;
+        try {
+            results = batchLoader.apply(Set.copyOf(batch.keySet()));
+        } catch (Throwable t) {
+            results = CompletableFuture.failedFuture(t);
+        }
+        results.whenComplete((values, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                batch.values().forEach(future -> future.completeExceptionally(cause));
+            } else {
+                batch.forEach((key, future) -> future.complete(values.get(key)));
+            }
+        });
+    }
+}
@@ -3,18 +3,32 @@ package com.sotatek.order.client.impl;
 import com.sotatek.order.client.MemberClient;
 import com.sotatek.order.exception.MemberNotFoundException;
 import com.sotatek.order.model.dto.external.MemberResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import com.sotatek.order.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Slf4j
 @Component
+@Profile("!http")
+@Qualifier("memberTransport")
+@RequiredArgsConstructor
 public class MockMemberClient implements MemberClient {
 
+    @Qualifier("clientCallExecutor")
+    private final Executor callExecutor;
+
     @Override
     @CircuitBreaker(name = "memberService", fallbackMethod = "memberFallback")
     @Retry(name = "memberService")
@@ -34,6 +48,15 @@ public class MockMemberClient implements MemberClient {
                 .build();
     }
 
+    @Override
+    @Bulkhead(name = "memberService")
+    @TimeLimiter(name = "memberService")
+    @CircuitBreaker(name = "memberService", fallbackMethod = "memberAsyncFallback")
+    @Retry(name = "memberService")
+    public CompletableFuture<MemberResponse> getMemberAsync(@NonNull String memberId) {
+        return CompletableFuture.supplyAsync(() -> getMember(memberId), callExecutor);
+    }
+
     public MemberResponse memberFallback(String memberId, Throwable t) throws Throwable {
         if (t instanceof MemberNotFoundException) {
             throw t;
@@ -41,4 +64,8 @@ public class MockMemberClient implements MemberClient {
         log.error("Member service fallback for id: {}, error: {}", memberId, t.getMessage());
         throw new ServiceUnavailableException("Member service is temporarily unavailable: " + t.getMessage());
     }
+
+    public CompletableFuture<MemberResponse> memberAsyncFallback(String memberId, Throwable t) {
+        return AsyncFallback.of(t, cause -> memberFallback(memberId, cause));
+    }
 }
@@ -3,23 +3,34 @@ package com.sotatek.order.client.impl;
 import com.sotatek.order.client.PaymentClient;
 import com.sotatek.order.model.dto.external.PaymentRequest;
 import com.sotatek.order.model.dto.external.PaymentResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
-import com.sotatek.order.exception.ServiceUnavailableException;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import com.sotatek.order.model.enums.ExternalStatus;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@Profile("!http")
+@RequiredArgsConstructor
 public class MockPaymentClient implements PaymentClient {
 
+    @Qualifier("clientCallExecutor")
+    private final Executor callExecutor;
+
     @Override
     @CircuitBreaker(name = "paymentService", fallbackMethod = "paymentFallback")
     @Retry(name = "paymentService")
@@ -51,13 +62,41 @@ public class MockPaymentClient implements PaymentClient {
                 .build();
     }
 
+    @Override
+    @Bulkhead(name = "paymentService")
+    @TimeLimiter(name = "paymentService")
+    @CircuitBreaker(name = "paymentService", fallbackMethod = "paymentAsyncFallback")
+    @Retry(name = "paymentService")
+    public CompletableFuture<PaymentResponse> createPaymentAsync(@NonNull PaymentRequest request) {
+        return CompletableFuture.supplyAsync(() -> createPayment(request), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "paymentService")
+    @TimeLimiter(name = "paymentService")
+    @CircuitBreaker(name = "paymentService", fallbackMethod = "refundAsyncFallback")
+    @Retry(name = "paymentService")
+    public CompletableFuture<PaymentResponse> refundPaymentAsync(@NonNull String transactionId,
+            @NonNull BigDecimal amount) {
+        return CompletableFuture.supplyAsync(() -> refundPayment(transactionId, amount), callExecutor);
+    }
+
     public PaymentResponse paymentFallback(PaymentRequest request, Throwable t) {
         log.error("Payment service fallback for order: {}, error: {}", request.getOrderId(), t.getMessage());
-        throw new ServiceUnavailableException("Payment service is temporarily unavailable: " + t.getMessage());
+        throw PaymentFailures.unavailable("Payment", t);
     }
 
     public PaymentResponse refundFallback(String transactionId, BigDecimal amount, Throwable t) {
         log.error("Refund service fallback for transaction: {}, error: {}", transactionId, t.getMessage());
-        throw new ServiceUnavailableException("Refund service is temporarily unavailable: " + t.getMessage());
+        throw PaymentFailures.unavailable("Refund", t);
+    }
+
+    public CompletableFuture<PaymentResponse> paymentAsyncFallback(PaymentRequest request, Throwable t) {
+        return AsyncFallback.of(t, cause -> paymentFallback(request, cause));
+    }
+
+    public CompletableFuture<PaymentResponse> refundAsyncFallback(String transactionId, BigDecimal amount,
+            Throwable t) {
+        return AsyncFallback.of(t, cause -> refundFallback(transactionId, amount, cause));
     }
 }
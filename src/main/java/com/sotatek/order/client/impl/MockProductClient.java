@@ -4,20 +4,36 @@ import com.sotatek.order.client.ProductClient;
 import com.sotatek.order.exception.ProductNotFoundException;
 import com.sotatek.order.model.dto.external.ProductResponse;
 import com.sotatek.order.model.dto.external.ProductStockResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import com.sotatek.order.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@Profile("!http")
+@Qualifier("productTransport")
+@RequiredArgsConstructor
 public class MockProductClient implements ProductClient {
 
+    @Qualifier("clientCallExecutor")
+    private final Executor callExecutor;
+
     @Override
     @CircuitBreaker(name = "productService", fallbackMethod = "productFallback")
     @Retry(name = "productService")
@@ -25,7 +41,41 @@ public class MockProductClient implements ProductClient {
         if ("not-found".equals(productId)) {
             throw new ProductNotFoundException("Product not found with id: " + productId);
         }
+        return mockProduct(productId);
+    }
+
+    @Override
+    @CircuitBreaker(name = "productService", fallbackMethod = "stockFallback")
+    @Retry(name = "productService")
+    public ProductStockResponse getStock(@NonNull String productId) {
+        return mockStock(productId);
+    }
+
+    @Override
+    @CircuitBreaker(name = "productService", fallbackMethod = "productsFallback")
+    @Retry(name = "productService")
+    public Map<String, ProductResponse> getProducts(@NonNull Collection<String> productIds) {
+        Map<String, ProductResponse> products = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            if (!"not-found".equals(productId)) {
+                products.put(productId, mockProduct(productId));
+            }
+        }
+        return products;
+    }
+
+    @Override
+    @CircuitBreaker(name = "productService", fallbackMethod = "stocksFallback")
+    @Retry(name = "productService")
+    public Map<String, ProductStockResponse> getStocks(@NonNull Collection<String> productIds) {
+        Map<String, ProductStockResponse> stocks = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            stocks.put(productId, mockStock(productId));
+        }
+        return stocks;
+    }
 
+    private ProductResponse mockProduct(String productId) {
         String status = "discontinued".equals(productId) ? "DISCONTINUED" : "AVAILABLE";
 
         return ProductResponse.builder()
@@ -36,10 +86,7 @@ public class MockProductClient implements ProductClient {
                 .build();
     }
 
-    @Override
-    @CircuitBreaker(name = "productService", fallbackMethod = "stockFallback")
-    @Retry(name = "productService")
-    public ProductStockResponse getStock(@NonNull String productId) {
+    private ProductStockResponse mockStock(String productId) {
         int availableQuantity = "out-of-stock".equals(productId) ? 0 : 100;
 
         return ProductStockResponse.builder()
@@ -50,6 +97,42 @@ public class MockProductClient implements ProductClient {
                 .build();
     }
 
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "productAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<ProductResponse> getProductAsync(@NonNull String productId) {
+        return CompletableFuture.supplyAsync(() -> getProduct(productId), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "stockAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<ProductStockResponse> getStockAsync(@NonNull String productId) {
+        return CompletableFuture.supplyAsync(() -> getStock(productId), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "productsAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<Map<String, ProductResponse>> getProductsAsync(@NonNull Collection<String> productIds) {
+        return CompletableFuture.supplyAsync(() -> getProducts(productIds), callExecutor);
+    }
+
+    @Override
+    @Bulkhead(name = "productService")
+    @TimeLimiter(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "stocksAsyncFallback")
+    @Retry(name = "productService")
+    public CompletableFuture<Map<String, ProductStockResponse>> getStocksAsync(@NonNull Collection<String> productIds) {
+        return CompletableFuture.supplyAsync(() -> getStocks(productIds), callExecutor);
+    }
+
     public ProductResponse productFallback(String productId, Throwable t) throws Throwable {
         if (t instanceof ProductNotFoundException) {
             throw t;
@@ -62,4 +145,32 @@ public class MockProductClient implements ProductClient {
         log.error("Stock service fallback for id: {}, error: {}", productId, t.getMessage());
         throw new ServiceUnavailableException("Stock service is temporarily unavailable: " + t.getMessage());
     }
+
+    public Map<String, ProductResponse> productsFallback(Collection<String> productIds, Throwable t) {
+        log.error("Product service fallback for ids: {}, error: {}", productIds, t.getMessage());
+        throw new ServiceUnavailableException("Product service is temporarily unavailable: " + t.getMessage());
+    }
+
+    public Map<String, ProductStockResponse> stocksFallback(Collection<String> productIds, Throwable t) {
+        log.error("Stock service fallback for ids: {}, error: {}", productIds, t.getMessage());
+        throw new ServiceUnavailableException("Stock service is temporarily unavailable: " + t.getMessage());
+    }
+
+    public CompletableFuture<ProductResponse> productAsyncFallback(String productId, Throwable t) {
+        return AsyncFallback.of(t, cause -> productFallback(productId, cause));
+    }
+
+    public CompletableFuture<ProductStockResponse> stockAsyncFallback(String productId, Throwable t) {
+        return AsyncFallback.of(t, cause -> stockFallback(productId, cause));
+    }
+
+    public CompletableFuture<Map<String, ProductResponse>> productsAsyncFallback(Collection<String> productIds,
+            Throwable t) {
+        return AsyncFallback.of(t, cause -> productsFallback(productIds, cause));
+    }
+
+    public CompletableFuture<Map<String, ProductStockResponse>> stocksAsyncFallback(Collection<String> productIds,
+            Throwable t) {
+        return AsyncFallback.of(t, cause -> stocksFallback(productIds, cause));
+    }
 }
@@ -0,0 +1,48 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.exception.PaymentOutcomeUnknownException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Classifies payment call failures for the fallbacks of the payment clients. Only
+ * failures that happened before anything reached the payment service are plain
+ * {@link ServiceUnavailableException}s, which the retry may repeat; anything else
+ * becomes {@link PaymentOutcomeUnknownException}, which it never repeats.
+ */
+final class PaymentFailures {
+
+    private PaymentFailures() {
+    }
+
+    static ServiceUnavailableException unavailable(String service, Throwable t) {
+        if (t instanceof ServiceUnavailableException e) {
+            // Already classified by the client from the response status
+            return e;
+        }
+        if (notSent(t)) {
+            return new ServiceUnavailableException(service + " service is temporarily unavailable: " + t.getMessage());
+        }
+        return new PaymentOutcomeUnknownException(service + " outcome is unknown: " + t.getMessage());
+    }
+
+    private static boolean notSent(Throwable t) {
+        if (t instanceof CallNotPermittedException || t instanceof BulkheadFullException
+                || t instanceof RejectedExecutionException) {
+            return true;
+        }
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package com.sotatek.order.client.impl;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries to one downstream service at a fraction of its successful calls
+ * over a sliding window, plus a small fixed allowance so a quiet service can
+ * still retry. Once a service stops succeeding its budget drains, so an outage
+ * sees roughly the original traffic instead of a multiple of it.
+ *
+ * The window is kept as one-second slots; slots older than the window are
+ * reset lazily when they are reused.
+ */
+public class RetryBudget {
+
+    private static final long SLOT_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final double ratio;
+    private final double minRetries;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final long[] slotIds;
+    private final long[] successes;
+    private final long[] retries;
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, Duration window) {
+        this(ratio, minRetriesPerSecond, window, System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minRetriesPerSecond, Duration window, LongSupplier nanoClock) {
+        int slots = (int) Math.max(1, window.toSeconds());
+        this.ratio = ratio;
+        this.minRetries = (double) minRetriesPerSecond * slots;
+        this.nanoClock = nanoClock;
+        this.slotIds = new long[slots];
+        this.successes = new long[slots];
+        this.retries = new long[slots];
+        Arrays.fill(slotIds, UNUSED);
+    }
+
+    public void recordSuccess() {
+        lock.lock();
+        try {
+            successes[currentSlot()]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes one retry from the budget if it has room. Checking and charging
+     * happen under one lock, so concurrent callers cannot overshoot the budget.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (availableInWindow() < 1) {
+                return false;
+            }
+            retries[currentSlot()]++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a retry taken by {@link #tryAcquire()} that was not made after all.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            retries[currentSlot()]--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retries still allowed in the current window.
+     */
+    public double available() {
+        lock.lock();
+        try {
+            return availableInWindow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private double availableInWindow() {
+        long current = slotId();
+        long windowSuccesses = 0;
+        long windowRetries = 0;
+        for (int i = 0; i < slotIds.length; i++) {
+            if (slotIds[i] != UNUSED && current - slotIds[i] < slotIds.length) {
+                windowSuccesses += successes[i];
+                windowRetries += retries[i];
+            }
+        }
+        return minRetries + ratio * windowSuccesses - windowRetries;
+    }
+
+    // Caller holds the lock
+    private int currentSlot() {
+        long id = slotId();
+        int index = (int) Math.floorMod(id, (long) slotIds.length);
+        if (slotIds[index] != id) {
+            slotIds[index] = id;
+            successes[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+
+    private long slotId() {
+        return Math.floorDiv(nanoClock.getAsLong(), SLOT_NANOS);
+    }
+}
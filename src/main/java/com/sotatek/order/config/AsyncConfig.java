@@ -0,0 +1,120 @@
+package com.sotatek.order.config;
+
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bounded pool for fanning out downstream lookups. CallerRunsPolicy applies
+     * back-pressure instead of rejecting when the queue is full.
+     */
+    @Bean("downstreamExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor downstreamExecutor(DownstreamExecutorProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("downstream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        return executor;
+    }
+
+    /**
+     * One virtual thread per downstream call when {@code spring.threads.virtual.enabled}
+     * is set. Blocked calls no longer hold a pool thread; the concurrency limit
+     * makes callers wait instead, so the downstream services see the same bound.
+     */
+    @Bean("downstreamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualDownstreamExecutor(DownstreamExecutorProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("downstream-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.getVirtualConcurrencyLimit());
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        return executor;
+    }
+
+    /**
+     * Runs the calls of the async client variants. The semaphore bulkhead of each
+     * service bounds how many of them are in flight, so this pool only needs to
+     * hold the sum of those limits and never queues.
+     */
+    @Bean("clientCallExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor clientCallExecutor(DownstreamExecutorProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(properties.getCallPoolSize());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("client-call-");
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        return executor;
+    }
+
+    /**
+     * One virtual thread per client call; the bulkheads are the only limit.
+     */
+    @Bean("clientCallExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualClientCallExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("client-call-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        return executor;
+    }
+
+    /**
+     * Fixed pool that runs claimed payment tasks. The queue holds one poll's worth
+     * of tasks. The poller never claims more than the pool and queue can take, so
+     * tasks are not rejected, and are never run on the scheduler thread.
+     */
+    @Bean
+    public Executor paymentWorkerExecutor(AsyncPaymentProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getBatchSize());
+        executor.setThreadNamePrefix("payment-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Keeps traceId in logs written from worker threads
+    private TaskDecorator mdcPropagatingDecorator() {
+        return runnable -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
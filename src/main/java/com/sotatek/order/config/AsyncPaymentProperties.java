@@ -0,0 +1,24 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.async-payment")
+public class AsyncPaymentProperties {
+    private boolean enabled = true;
+    private int workerThreads = 8;
+    // Tasks claimed per poll; also the worker queue capacity
+    private int batchSize = 50;
+    // Read by @Scheduled, hence plain milliseconds
+    private long pollIntervalMs = 500;
+    private Duration lease = Duration.ofMinutes(2);
+    private int maxAttempts = 5;
+    // Doubled after each failed attempt
+    private Duration retryBackoff = Duration.ofSeconds(2);
+    // When the worker takes over a synchronous createOrder that never settled;
+    // must exceed the payment call's worst case including retries
+    private Duration recoveryDelay = Duration.ofMinutes(1);
+}
@@ -0,0 +1,15 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order.downstream-executor")
+public class DownstreamExecutorProperties {
+    private int corePoolSize = 16;
+    private int maxPoolSize = 64;
+    private int queueCapacity = 500;
+    private int virtualConcurrencyLimit = 256;
+    // Platform threads for client calls; at least the sum of the bulkhead limits
+    private int callPoolSize = 200;
+}
@@ -0,0 +1,68 @@
+package com.sotatek.order.config;
+
+import com.sotatek.order.client.MemberClient;
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.client.impl.Hedger;
+import com.sotatek.order.client.impl.HedgingMemberClient;
+import com.sotatek.order.client.impl.HedgingProductClient;
+import com.sotatek.order.client.impl.RetryBudget;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hedging decorators for the member and product reads, placed directly on the
+ * transports when {@code order.hedging.enabled} is set. Payment calls are never
+ * hedged: a duplicate payment is not a harmless read.
+ *
+ * Each read operation gets its own {@link Hedger}. All hedgers of a service
+ * share its Resilience4j bulkhead as headroom check: a hedge is only fired while
+ * at least {@code min-free-bulkhead-share} of its permits are free.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "order.hedging", name = "enabled", havingValue = "true")
+public class HedgingConfig {
+
+    @Bean
+    public HedgingMemberClient hedgingMemberClient(@Qualifier("memberTransport") MemberClient transport,
+            HedgingProperties properties,
+            ObjectProvider<RetryBudgets> retryBudgets,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        return new HedgingMemberClient(transport,
+                hedger("memberService", "getMember", properties, retryBudgets, bulkheadRegistry, meterRegistry));
+    }
+
+    @Bean
+    public HedgingProductClient hedgingProductClient(@Qualifier("productTransport") ProductClient transport,
+            HedgingProperties properties,
+            ObjectProvider<RetryBudgets> retryBudgets,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        return new HedgingProductClient(transport, operation -> hedger("productService", operation, properties,
+                retryBudgets, bulkheadRegistry, meterRegistry));
+    }
+
+    private static Hedger hedger(String service, String operation, HedgingProperties properties,
+            ObjectProvider<RetryBudgets> retryBudgets, BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        Optional<RetryBudget> retryBudget = Optional.ofNullable(retryBudgets.getIfAvailable())
+                .flatMap(budgets -> budgets.forService(service));
+        return new Hedger(service, operation, properties, retryBudget,
+                headroom(bulkheadRegistry.bulkhead(service), properties.getMinFreeBulkheadShare()), meterRegistry);
+    }
+
+    // Loser attempts hold their permit until the real call ends, so hedges only use spare capacity
+    static BooleanSupplier headroom(Bulkhead bulkhead, double minFreeShare) {
+        int reserved = (int) Math.ceil(bulkhead.getBulkheadConfig().getMaxConcurrentCalls() * minFreeShare);
+        return () -> bulkhead.getMetrics().getAvailableConcurrentCalls() >= reserved;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.hedging")
+public class HedgingProperties {
+    private boolean enabled = false;
+    // A read still running after this latency percentile of recent reads gets a second attempt
+    private double percentile = 0.95;
+    // Bounds on the hedge delay, whatever the percentile says
+    private Duration minDelay = Duration.ofMillis(10);
+    private Duration maxDelay = Duration.ofSeconds(1);
+    // Recent latencies kept per service; no hedging until minSamples are seen
+    private int sampleSize = 1000;
+    private int minSamples = 100;
+    // Hedges allowed per successful read in the window; also bounded by the retry budget
+    private double maxExtraLoad = 0.05;
+    private Duration window = Duration.ofSeconds(10);
+    // Share of the service's bulkhead permits that must be free to fire a hedge
+    private double minFreeBulkheadShare = 0.5;
+}
@@ -0,0 +1,106 @@
+package com.sotatek.order.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestClient;
+
+/**
+ * HTTP transport for the external services, active with the {@code http}
+ * profile. Each service gets a pooled keep-alive client bounded by its
+ * {@code max-connections}; when the pool is exhausted a call fails after
+ * {@code connection-request-timeout} instead of queueing without limit.
+ */
+@Configuration
+@Profile("http")
+public class HttpClientConfig {
+
+    // Registered as beans so their pools are closed with the context
+    @Bean
+    public CloseableHttpClient memberHttpClient(HttpClientProperties properties) {
+        return httpClient(properties, properties.getMember());
+    }
+
+    @Bean
+    public CloseableHttpClient productHttpClient(HttpClientProperties properties) {
+        return httpClient(properties, properties.getProduct());
+    }
+
+    @Bean
+    public CloseableHttpClient paymentHttpClient(HttpClientProperties properties) {
+        return httpClient(properties, properties.getPayment());
+    }
+
+    @Bean
+    public RestClient memberRestClient(RestClient.Builder builder, ObjectMapper objectMapper,
+            @Qualifier("memberHttpClient") CloseableHttpClient httpClient, HttpClientProperties properties) {
+        return restClient(builder, objectMapper, httpClient, properties.getMember());
+    }
+
+    @Bean
+    public RestClient productRestClient(RestClient.Builder builder, ObjectMapper objectMapper,
+            @Qualifier("productHttpClient") CloseableHttpClient httpClient, HttpClientProperties properties) {
+        return restClient(builder, objectMapper, httpClient, properties.getProduct());
+    }
+
+    @Bean
+    public RestClient paymentRestClient(RestClient.Builder builder, ObjectMapper objectMapper,
+            @Qualifier("paymentHttpClient") CloseableHttpClient httpClient, HttpClientProperties properties) {
+        return restClient(builder, objectMapper, httpClient, properties.getPayment());
+    }
+
+    private static CloseableHttpClient httpClient(HttpClientProperties properties, HttpClientProperties.Endpoint endpoint) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(endpoint.getMaxConnections())
+                .setMaxConnPerRoute(endpoint.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+                // Retries are left to Resilience4j so they are counted by the circuit breaker
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    private static RestClient restClient(RestClient.Builder builder, ObjectMapper objectMapper,
+            CloseableHttpClient httpClient, HttpClientProperties.Endpoint endpoint) {
+        // Compact bodies: no nulls, no indentation; unknown fields from newer API versions are ignored
+        ObjectMapper compact = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return builder.clone()
+                .baseUrl(endpoint.getBaseUrl())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .messageConverters(converters -> {
+                    converters.removeIf(MappingJackson2HttpMessageConverter.class::isInstance);
+                    converters.add(new MappingJackson2HttpMessageConverter(compact));
+                })
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transport settings for the HTTP clients of the member, product and payment
+ * services (profile {@code http}). Each service gets its own connection pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "order.http")
+public class HttpClientProperties {
+    private Duration connectTimeout = Duration.ofSeconds(1);
+    // Maximum silence between response packets
+    private Duration readTimeout = Duration.ofSeconds(3);
+    // How long a call waits for a free pooled connection before failing
+    private Duration connectionRequestTimeout = Duration.ofMillis(500);
+    // Pooled connections unused for longer than this are closed
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Endpoint member = new Endpoint("http://member-service:8081");
+    private Endpoint product = new Endpoint("http://product-service:8082");
+    private PaymentEndpoint payment = new PaymentEndpoint("http://payment-service:8083");
+
+    @Data
+    public static class Endpoint {
+        private String baseUrl;
+        // One route per service, so this is also the per-host limit
+        private int maxConnections = 50;
+
+        public Endpoint() {
+        }
+
+        Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class PaymentEndpoint extends Endpoint {
+        // The published payment API has no refund operation; the refund endpoint is assumed
+        private boolean refundEnabled = false;
+
+        public PaymentEndpoint() {
+        }
+
+        PaymentEndpoint(String baseUrl) {
+            super(baseUrl);
+        }
+    }
+}
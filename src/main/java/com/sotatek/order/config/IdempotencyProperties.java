@@ -0,0 +1,25 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.idempotency")
+public class IdempotencyProperties {
+    // How long a stored outcome is replayed to retries
+    private Duration ttl = Duration.ofHours(24);
+    // L1 is bounded by approximate serialized size, not entry count
+    private DataSize localMaximumSize = DataSize.ofMegabytes(16);
+    // An IN_PROGRESS claim not renewed for this long is treated as abandoned; renewed every third
+    private Duration lease = Duration.ofSeconds(30);
+    // How long a retry waits for the same key in progress on another instance
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private Duration pollInterval = Duration.ofMillis(100);
+    private boolean purgeEnabled = true;
+    // Read by @Scheduled, hence plain milliseconds
+    private long purgeIntervalMs = 60_000;
+    private int purgeBatchSize = 500;
+}
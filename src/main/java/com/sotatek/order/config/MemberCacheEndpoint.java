@@ -0,0 +1,31 @@
+package com.sotatek.order.config;
+
+import com.sotatek.order.client.impl.CachingMemberClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operational hook to evict member status entries, e.g. when the member
+ * service reports a deactivation: {@code DELETE /actuator/membercache/{memberId}}.
+ * Over HTTP it requires the admin token; see {@link MemberCacheEndpointFilter}.
+ */
+@Component
+@Endpoint(id = "membercache")
+@RequiredArgsConstructor
+public class MemberCacheEndpoint {
+
+    private final CachingMemberClient memberClient;
+
+    @DeleteOperation
+    public void evictAll() {
+        memberClient.invalidateAll();
+    }
+
+    @DeleteOperation
+    public void evict(@Selector String memberId) {
+        memberClient.invalidate(memberId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sotatek.order.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the {@link MemberCacheEndpoint}: evicting entries is an admin action,
+ * while the other actuator endpoints stay open for probes and scraping. Calls
+ * must send {@code Authorization: Bearer <order.cache.member.admin-token>}; with
+ * no token configured the endpoint refuses every call.
+ */
+@Slf4j
+@Component
+public class MemberCacheEndpointFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final String endpointPath;
+    private final byte[] adminToken;
+
+    public MemberCacheEndpointFilter(MemberCacheProperties properties,
+            @Value("${management.endpoints.web.base-path:/actuator}") String basePath) {
+        this.endpointPath = basePath + "/membercache";
+        String token = properties.getAdminToken();
+        this.adminToken = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals(endpointPath) && !path.startsWith(endpointPath + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain) throws ServletException, IOException {
+        if (!authorized(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            log.warn("Refused unauthenticated member cache call: {} {}", request.getMethod(),
+                    request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean authorized(String header) {
+        if (adminToken == null || header == null || !header.startsWith(BEARER)) {
+            return false;
+        }
+        // Constant time, so the token cannot be guessed byte by byte
+        return MessageDigest.isEqual(adminToken, header.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
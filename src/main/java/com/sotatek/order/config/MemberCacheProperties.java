@@ -0,0 +1,18 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.cache.member")
+public class MemberCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 50_000;
+    private Duration ttl = Duration.ofSeconds(30);
+    // Unknown member ids are remembered for a much shorter time
+    private Duration negativeTtl = Duration.ofSeconds(5);
+    // Bearer token required by /actuator/membercache; while unset every call is refused
+    private String adminToken;
+}
@@ -0,0 +1,30 @@
+package com.sotatek.order.config;
+
+import com.sotatek.order.client.MemberClient;
+import com.sotatek.order.client.impl.CachingMemberClient;
+import com.sotatek.order.client.impl.HedgingMemberClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Assembles the {@link MemberClient} used by the services: the transport
+ * implementation wrapped by the member status cache, and by hedging when
+ * enabled (cache -> hedging -> transport).
+ */
+@Configuration
+public class MemberClientConfig {
+
+    @Bean
+    @Primary
+    public CachingMemberClient memberClient(@Qualifier("memberTransport") MemberClient transport,
+            ObjectProvider<HedgingMemberClient> hedgingMemberClient,
+            MemberCacheProperties cacheProperties,
+            MeterRegistry meterRegistry) {
+        return new CachingMemberClient(hedgingMemberClient.getIfAvailable(() -> transport), cacheProperties,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.cache.order")
+public class OrderCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    // PAYMENT_FAILED / CANCELLED never change again
+    private Duration terminalTtl = Duration.ofMinutes(10);
+    // A CONFIRMED order can still be cancelled on another instance, which only evicts its own cache
+    private Duration confirmedTtl = Duration.ofSeconds(10);
+    // Orders still in flight are polled for status changes
+    private Duration pendingTtl = Duration.ofSeconds(2);
+}
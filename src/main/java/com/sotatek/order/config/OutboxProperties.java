@@ -0,0 +1,25 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.outbox")
+public class OutboxProperties {
+    private boolean relayEnabled = true;
+    // Read by @Scheduled, hence plain milliseconds
+    private long relayIntervalMs = 1000;
+    private int batchSize = 200;
+    // A batch leased by a relay that has not marked it delivered by then goes to another instance
+    private Duration lease = Duration.ofSeconds(30);
+    // OrderEventPublisher implementation; "logging" selects LoggingOrderEventPublisher
+    private String publisher = "logging";
+    private boolean purgeEnabled = true;
+    // Delivered rows are kept this long for inspection and replay, then deleted
+    private Duration retention = Duration.ofDays(7);
+    // Read by @Scheduled, hence plain milliseconds
+    private long purgeIntervalMs = 60_000;
+    private int purgeBatchSize = 500;
+}
@@ -0,0 +1,18 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.product-batching")
+public class ProductBatchingProperties {
+    private boolean enabled = true;
+    // How long single lookups are collected before a batch is dispatched
+    private Duration window = Duration.ofMillis(2);
+    private int maxBatchSize = 100;
+    // Batches of one bulk lookup in flight at once, so it does not take the whole bulkhead
+    private int bulkConcurrency = 4;
+    private int dispatchThreads = 4;
+}
@@ -0,0 +1,17 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.cache.product")
+public class ProductCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    // Entries older than this are reloaded in the background on next access
+    private Duration refreshAfterWrite = Duration.ofMinutes(1);
+    // Hard upper bound on how long an entry may be served
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,53 @@
+package com.sotatek.order.config;
+
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.client.impl.BatchingProductClient;
+import com.sotatek.order.client.impl.CachingProductClient;
+import com.sotatek.order.client.impl.HedgingProductClient;
+import com.sotatek.order.client.impl.LastKnownGoodProductClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Assembles the {@link ProductClient} used by the services: the transport
+ * implementation wrapped by optional decorators (cache -> last-known-good -> batching -> hedging -> transport).
+ */
+@Configuration
+public class ProductClientConfig {
+
+    // Registered as its own bean so its dispatch threads are shut down with the context
+    @Bean
+    @ConditionalOnProperty(prefix = "order.product-batching", name = "enabled", matchIfMissing = true)
+    public BatchingProductClient batchingProductClient(@Qualifier("productTransport") ProductClient transport,
+            ObjectProvider<HedgingProductClient> hedgingProductClient,
+            ProductBatchingProperties batchingProperties) {
+        return new BatchingProductClient(hedgingProductClient.getIfAvailable(() -> transport), batchingProperties);
+    }
+
+    @Bean
+    @Primary
+    public ProductClient productClient(@Qualifier("productTransport") ProductClient transport,
+            ObjectProvider<HedgingProductClient> hedgingProductClient,
+            ObjectProvider<BatchingProductClient> batchingProductClient,
+            ProductCacheProperties cacheProperties,
+            ProductFallbackProperties fallbackProperties,
+            MeterRegistry meterRegistry,
+            @Qualifier("downstreamExecutor") Executor downstreamExecutor) {
+        ProductClient reads = hedgingProductClient.getIfAvailable(() -> transport);
+        ProductClient client = batchingProductClient.getIfAvailable(() -> reads);
+        if (fallbackProperties.isEnabled()) {
+            client = new LastKnownGoodProductClient(client, fallbackProperties, meterRegistry);
+        }
+        if (cacheProperties.isEnabled()) {
+            client = new CachingProductClient(client, cacheProperties, meterRegistry, downstreamExecutor);
+        }
+        return client;
+    }
+}
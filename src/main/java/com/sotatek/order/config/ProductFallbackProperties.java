@@ -0,0 +1,18 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.product-fallback")
+public class ProductFallbackProperties {
+    private boolean enabled = true;
+    // Products and stock levels remembered, each
+    private long maximumSize = 10_000;
+    // Older data is not served; the order is rejected as before
+    private Duration maxStaleness = Duration.ofMinutes(5);
+    // Share of the last known available quantity offered while stale
+    private double stockFactor = 0.5;
+}
@@ -0,0 +1,19 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.refund-retry")
+public class RefundRetryProperties {
+    private boolean enabled = true;
+    // Read by @Scheduled, hence plain milliseconds
+    private long intervalMs = 30_000;
+    // Leaves refunds still running on the request thread alone
+    private Duration minAge = Duration.ofMinutes(1);
+    private int batchSize = 50;
+    // Retries before the order is parked as REFUND_FAILED
+    private int maxAttempts = 20;
+}
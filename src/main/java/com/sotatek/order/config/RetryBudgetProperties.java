@@ -0,0 +1,20 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "order.retry-budget")
+public class RetryBudgetProperties {
+    private boolean enabled = true;
+    // Retries allowed per successful call in the window
+    private double ratio = 0.1;
+    // Retries always allowed per second, so a quiet service can still retry
+    private int minRetriesPerSecond = 1;
+    private Duration window = Duration.ofSeconds(10);
+    // Resilience4j instances (retry and circuit breaker share the name) that get a budget
+    private List<String> instances = List.of("memberService", "productService", "paymentService");
+}
@@ -0,0 +1,93 @@
+package com.sotatek.order.config;
+
+import com.sotatek.order.client.impl.RetryBudget;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Puts a {@link RetryBudget} in front of the Resilience4j retry of each
+ * downstream service. Successful calls, as seen by the service's circuit
+ * breaker, fill the budget; a failure is retried only while the budget has
+ * room, otherwise it is returned to the caller at once.
+ *
+ * Metrics: {@code order.retry.budget} (granted/denied per service) and
+ * {@code order.retry.budget.available}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.retry-budget", name = "enabled", matchIfMissing = true)
+public class RetryBudgets {
+
+    private final Map<String, RetryBudget> budgets = new LinkedHashMap<>();
+
+    public RetryBudgets(RetryBudgetProperties properties, RetryRegistry retryRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        for (String name : properties.getInstances()) {
+            RetryBudget budget = new RetryBudget(properties.getRatio(), properties.getMinRetriesPerSecond(),
+                    properties.getWindow());
+            budgets.put(name, budget);
+
+            Counter granted = retryCounter(meterRegistry, name, "granted");
+            Counter denied = retryCounter(meterRegistry, name, "denied");
+            Gauge.builder("order.retry.budget.available", budget, RetryBudget::available)
+                    .tag("service", name)
+                    .description("Retries still allowed in the current window")
+                    .register(meterRegistry);
+
+            circuitBreakerRegistry.circuitBreaker(name).getEventPublisher()
+                    .onSuccess(event -> budget.recordSuccess());
+
+            RetryConfig config = retryRegistry.retry(name).getRetryConfig();
+            Predicate<Throwable> retryable = config.getExceptionPredicate();
+            RetryConfig budgeted = RetryConfig.from(config)
+                    // The existing predicate already covers retry/ignore exceptions
+                    .retryExceptions()
+                    .ignoreExceptions()
+                    .retryOnException(throwable -> {
+                        if (!retryable.test(throwable)) {
+                            return false;
+                        }
+                        // Charged here, in the same step as the check
+                        if (budget.tryAcquire()) {
+                            return true;
+                        }
+                        denied.increment();
+                        return false;
+                    })
+                    .build();
+            Retry retry = Retry.of(name, budgeted);
+            // The last failed attempt also passes the predicate, but is not retried
+            retry.getEventPublisher()
+                    .onRetry(event -> granted.increment())
+                    .onError(event -> budget.release());
+            retryRegistry.replace(name, retry);
+            log.info("Retry budget for {}: {} retries per success, {} per second minimum, window {}", name,
+                    properties.getRatio(), properties.getMinRetriesPerSecond(), properties.getWindow());
+        }
+    }
+
+    public Optional<RetryBudget> forService(String name) {
+        return Optional.ofNullable(budgets.get(name));
+    }
+
+    private static Counter retryCounter(MeterRegistry meterRegistry, String service, String outcome) {
+        return Counter.builder("order.retry.budget")
+                .tag("service", service)
+                .tag("outcome", outcome)
+                .description("Retries granted or denied by the retry budget")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.stock-reservation")
+public class StockReservationProperties {
+    // Longer than an order normally stays PENDING, including payment retries
+    private Duration holdTtl = Duration.ofMinutes(15);
+    // A paid order keeps its hold this long; nothing tells the product service about
+    // the sale, so its available quantity only drops once it records the sale itself
+    private Duration confirmedHoldTtl = Duration.ofHours(24);
+    // Read by @Scheduled, hence plain milliseconds
+    private long expiryIntervalMs = 30_000;
+}
@@ -0,0 +1,13 @@
+package com.sotatek.order.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.validation")
+public class ValidationProperties {
+    // Deadline for all product/stock lookups of a single order
+    private Duration timeout = Duration.ofSeconds(3);
+}
@@ -1,8 +1,13 @@
 package com.sotatek.order.controller;
 
+import com.sotatek.order.model.dto.request.BatchCancelOrderRequest;
+import com.sotatek.order.model.dto.request.BatchCreateOrderRequest;
 import com.sotatek.order.model.dto.request.CreateOrderRequest;
 import com.sotatek.order.model.dto.request.UpdateOrderRequest;
+import com.sotatek.order.model.dto.response.BatchCancelResponse;
+import com.sotatek.order.model.dto.response.BatchOrderResponse;
 import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.dto.response.OrderSliceResponse;
 import com.sotatek.order.service.IdempotencyService;
 import com.sotatek.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +21,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -23,6 +31,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Order Management", description = "Endpoints for creating, retrieving, and cancelling orders")
 public class OrderController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final OrderService orderService;
     private final IdempotencyService idempotencyService;
 
@@ -39,6 +49,43 @@ public class OrderController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/async")
+    @Operation(summary = "Accept an order for asynchronous payment",
+            description = "Validates and stores the order as PENDING, returns 202 with the order URL; "
+                    + "payment is processed in the background")
+    public ResponseEntity<OrderResponse> acceptOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @NonNull @Valid @RequestBody CreateOrderRequest request) {
+
+        OrderResponse response = idempotencyService.getOrCompute(idempotencyKey,
+                () -> orderService.acceptOrder(request));
+
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/orders/{id}")
+                .buildAndExpand(response.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk",
+            description = "Each order succeeds or fails independently; results are returned in request order")
+    public ResponseEntity<BatchOrderResponse> createOrders(
+            @NonNull @Valid @RequestBody BatchCreateOrderRequest request) {
+        BatchOrderResponse response = orderService.createOrders(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/batch/cancel")
+    @Operation(summary = "Cancel orders in bulk",
+            description = "Cancels the given order ids, or up to 500 PENDING/CONFIRMED orders of a member "
+                    + "(repeat while hasMore is true); each order succeeds or fails independently")
+    public ResponseEntity<BatchCancelResponse> cancelOrders(
+            @NonNull @Valid @RequestBody BatchCancelOrderRequest request) {
+        BatchCancelResponse response = orderService.cancelOrders(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
     public ResponseEntity<OrderResponse> getOrder(@PathVariable @NonNull Long id) {
@@ -62,6 +109,18 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List orders with cursor pagination",
+            description = "Newest first; pass nextCursor from the previous response to get the next slice")
+    public ResponseEntity<OrderSliceResponse> listOrdersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        int boundedSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        OrderSliceResponse response = orderService.listOrdersByCursor(cursor, boundedSize);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Cancel an order", description = "Only PENDING/CONFIRMED orders can be cancelled")
     public ResponseEntity<OrderResponse> cancelOrder(
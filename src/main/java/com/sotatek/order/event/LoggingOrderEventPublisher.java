@@ -0,0 +1,22 @@
+package com.sotatek.order.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-process publisher for local runs: writes each event to the log.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.outbox", name = "publisher", havingValue = "logging", matchIfMissing = true)
+public class LoggingOrderEventPublisher implements OrderEventPublisher {
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        events.forEach(event -> log.info("Order event {}: type={}, orderId={}", event.eventId(), event.type(),
+                event.orderId()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.sotatek.order.event;
+
+import com.sotatek.order.model.enums.OrderEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order lifecycle event as handed to an {@link OrderEventPublisher}. Delivery is
+ * at-least-once; consumers should deduplicate on {@code eventId}.
+ *
+ * @param payload the order as JSON ({@code OrderResponse}) at the time of the event
+ */
+public record OrderEvent(Long eventId, OrderEventType type, Long orderId, LocalDateTime occurredAt,
+        String payload) {
+}
@@ -0,0 +1,15 @@
+package com.sotatek.order.event;
+
+import java.util.List;
+
+/**
+ * Destination of the order outbox relay (message broker, webhook, ...).
+ */
+public interface OrderEventPublisher {
+
+    /**
+     * Publishes a batch of events in order. Must throw if any event could not be
+     * published; the whole batch is then retried on the next relay run.
+     */
+    void publish(List<OrderEvent> events);
+}
@@ -3,6 +3,7 @@ package com.sotatek.order.exception;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 @Getter
 @RequiredArgsConstructor
@@ -16,9 +17,59 @@ public enum ErrorCode {
     INVALID_ORDER_STATUS(HttpStatus.BAD_REQUEST),
     PAYMENT_FAILED(HttpStatus.UNPROCESSABLE_ENTITY),
     VALIDATION_ERROR(HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST),
     CONCURRENT_MODIFICATION(HttpStatus.CONFLICT),
+    IDEMPOTENCY_KEY_IN_PROGRESS(HttpStatus.CONFLICT),
     EXTERNAL_SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final HttpStatus status;
+
+    /**
+     * Maps an exception to its error code. The one place this mapping lives: used
+     * by {@link GlobalExceptionHandler} for whole requests and wherever failures
+     * are reported per item instead of per request.
+     */
+    public static ErrorCode from(Throwable ex) {
+        if (ex instanceof OrderNotFoundException) {
+            return ORDER_NOT_FOUND;
+        }
+        if (ex instanceof MemberNotFoundException) {
+            return MEMBER_NOT_FOUND;
+        }
+        if (ex instanceof MemberInactiveException) {
+            return MEMBER_INACTIVE;
+        }
+        if (ex instanceof ProductNotFoundException) {
+            return PRODUCT_NOT_FOUND;
+        }
+        if (ex instanceof ProductUnavailableException) {
+            return PRODUCT_UNAVAILABLE;
+        }
+        if (ex instanceof InsufficientStockException) {
+            return INSUFFICIENT_STOCK;
+        }
+        if (ex instanceof InvalidOrderStatusException) {
+            return INVALID_ORDER_STATUS;
+        }
+        if (ex instanceof InvalidCursorException) {
+            return INVALID_CURSOR;
+        }
+        if (ex instanceof PaymentFailedException) {
+            return PAYMENT_FAILED;
+        }
+        if (ex instanceof ServiceUnavailableException) {
+            return EXTERNAL_SERVICE_UNAVAILABLE;
+        }
+        if (ex instanceof IdempotencyKeyInProgressException) {
+            return IDEMPOTENCY_KEY_IN_PROGRESS;
+        }
+        if (ex instanceof ReplayedErrorException replayed) {
+            return replayed.getErrorCode();
+        }
+        if (ex instanceof ObjectOptimisticLockingFailureException) {
+            return CONCURRENT_MODIFICATION;
+        }
+        return INTERNAL_ERROR;
+    }
 }
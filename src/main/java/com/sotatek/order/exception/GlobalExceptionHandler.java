@@ -8,7 +8,6 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import org.slf4j.MDC;
 
@@ -20,58 +19,6 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(OrderNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleOrderNotFound(OrderNotFoundException ex) {
-        return buildErrorResponse(ErrorCode.ORDER_NOT_FOUND, ex.getMessage());
-    }
-
-    @ExceptionHandler(MemberNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleMemberNotFound(MemberNotFoundException ex) {
-        return buildErrorResponse(ErrorCode.MEMBER_NOT_FOUND, ex.getMessage());
-    }
-
-    @ExceptionHandler(ProductNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleProductNotFound(ProductNotFoundException ex) {
-        return buildErrorResponse(ErrorCode.PRODUCT_NOT_FOUND, ex.getMessage());
-    }
-
-    @ExceptionHandler(MemberInactiveException.class)
-    public ResponseEntity<ErrorResponse> handleMemberInactive(MemberInactiveException ex) {
-        return buildErrorResponse(ErrorCode.MEMBER_INACTIVE, ex.getMessage());
-    }
-
-    @ExceptionHandler(ProductUnavailableException.class)
-    public ResponseEntity<ErrorResponse> handleProductUnavailable(ProductUnavailableException ex) {
-        return buildErrorResponse(ErrorCode.PRODUCT_UNAVAILABLE, ex.getMessage());
-    }
-
-    @ExceptionHandler(InsufficientStockException.class)
-    public ResponseEntity<ErrorResponse> handleInsufficientStock(InsufficientStockException ex) {
-        return buildErrorResponse(ErrorCode.INSUFFICIENT_STOCK, ex.getMessage());
-    }
-
-    @ExceptionHandler(InvalidOrderStatusException.class)
-    public ResponseEntity<ErrorResponse> handleInvalidOrderStatus(InvalidOrderStatusException ex) {
-        return buildErrorResponse(ErrorCode.INVALID_ORDER_STATUS, ex.getMessage());
-    }
-
-    @ExceptionHandler(PaymentFailedException.class)
-    public ResponseEntity<ErrorResponse> handlePaymentFailed(PaymentFailedException ex) {
-        return buildErrorResponse(ErrorCode.PAYMENT_FAILED, ex.getMessage());
-    }
-
-    @ExceptionHandler(ServiceUnavailableException.class)
-    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
-        return buildErrorResponse(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE, ex.getMessage());
-    }
-
-    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
-    public ResponseEntity<ErrorResponse> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
-        log.warn("Optimistic locking failure: {}", ex.getMessage());
-        return buildErrorResponse(ErrorCode.CONCURRENT_MODIFICATION,
-                "Resource was modified by another request. Please retry.");
-    }
-
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @SuppressWarnings("null")
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -94,10 +41,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, ErrorCode.VALIDATION_ERROR.getStatus());
     }
 
+    /**
+     * Every other exception, mapped by {@link ErrorCode#from} so a request and a
+     * per-item result report the same failure the same way.
+     */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleAllExceptions(Exception ex) {
-        log.error("Internal server error: ", ex);
-        return buildErrorResponse(ErrorCode.INTERNAL_ERROR, "An unexpected error occurred");
+    public ResponseEntity<ErrorResponse> handleException(Exception ex) {
+        ErrorCode errorCode = ErrorCode.from(ex);
+        return switch (errorCode) {
+            case INTERNAL_ERROR -> {
+                log.error("Internal server error: ", ex);
+                yield buildErrorResponse(errorCode, "An unexpected error occurred");
+            }
+            case CONCURRENT_MODIFICATION -> {
+                log.warn("Optimistic locking failure: {}", ex.getMessage());
+                yield buildErrorResponse(errorCode, "Resource was modified by another request. Please retry.");
+            }
+            default -> buildErrorResponse(errorCode, ex.getMessage());
+        };
     }
 
     private ResponseEntity<ErrorResponse> buildErrorResponse(ErrorCode errorCode, String message) {
@@ -0,0 +1,15 @@
+package com.sotatek.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The payment service may or may not have processed the call, e.g. it timed out
+ * after the request was sent. Never retried: a second call could charge twice.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PaymentOutcomeUnknownException extends ServiceUnavailableException {
+    public PaymentOutcomeUnknownException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sotatek.order.exception;
+
+import lombok.Getter;
+
+/**
+ * A business error stored for an Idempotency-Key and replayed to a retry, possibly
+ * on another instance. Rendered with the original error code and message.
+ */
+@Getter
+public class ReplayedErrorException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public ReplayedErrorException(ErrorCode errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+}
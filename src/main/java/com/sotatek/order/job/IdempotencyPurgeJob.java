@@ -0,0 +1,47 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.IdempotencyProperties;
+import com.sotatek.order.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes expired idempotency keys in bounded batches, so a backlog is cleared
+ * with short transactions rather than one large delete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.idempotency", name = "purge-enabled", matchIfMissing = true)
+public class IdempotencyPurgeJob {
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        PageRequest limit = PageRequest.of(0, properties.getPurgeBatchSize());
+        int purged = 0;
+
+        List<String> keys;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            keys = repository.findExpiredKeys(now, limit);
+            if (keys.isEmpty()) {
+                break;
+            }
+            purged += repository.deleteExpired(keys, now);
+        } while (keys.size() == properties.getPurgeBatchSize());
+
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.OutboxProperties;
+import com.sotatek.order.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes outbox rows delivered longer than the retention ago, in bounded
+ * batches like {@link IdempotencyPurgeJob}. Undelivered rows are never deleted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.outbox", name = "purge-enabled", matchIfMissing = true)
+public class OrderOutboxPurgeJob {
+
+    private final OrderOutboxRepository repository;
+    private final OutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${order.outbox.purge-interval-ms:60000}")
+    public void purgeDelivered() {
+        PageRequest limit = PageRequest.of(0, properties.getPurgeBatchSize());
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int purged = 0;
+
+        List<Long> ids;
+        do {
+            ids = repository.findDeliveredBefore(cutoff, limit);
+            if (ids.isEmpty()) {
+                break;
+            }
+            purged += repository.deleteDelivered(ids, cutoff);
+        } while (ids.size() == properties.getPurgeBatchSize());
+
+        if (purged > 0) {
+            log.debug("Purged {} delivered order events", purged);
+        }
+    }
+}
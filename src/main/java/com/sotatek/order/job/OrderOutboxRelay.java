@@ -0,0 +1,80 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.OutboxProperties;
+import com.sotatek.order.event.OrderEvent;
+import com.sotatek.order.event.OrderEventPublisher;
+import com.sotatek.order.model.entity.OrderOutboxEvent;
+import com.sotatek.order.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes undelivered outbox rows in id order and marks each published batch
+ * delivered with one update. Every run rescans from the start of the undelivered
+ * rows, so an event that commits late with a lower id is not skipped. A failed
+ * publish leaves the batch undelivered for the next run (at-least-once).
+ *
+ * With several instances, each batch is first leased to this relay through a
+ * conditional update, so only one instance publishes it. A relay that dies
+ * mid-batch loses its lease after {@code order.outbox.lease} and another
+ * instance publishes the batch again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.outbox", name = "relay-enabled", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final OutboxProperties properties;
+    // Identifies this instance's leases
+    private final String owner = UUID.randomUUID().toString();
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        PageRequest limit = PageRequest.of(0, properties.getBatchSize());
+        long afterId = 0;
+        int published = 0;
+
+        List<Long> candidates;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            candidates = orderOutboxRepository.findClaimableAfter(afterId, owner, now, limit);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            afterId = candidates.get(candidates.size() - 1);
+            if (orderOutboxRepository.claim(candidates, owner, now, now.plus(properties.getLease())) == 0) {
+                continue;
+            }
+
+            // Only the rows this relay won; another instance publishes the rest
+            List<OrderOutboxEvent> batch = orderOutboxRepository.findClaimed(candidates, owner);
+            if (batch.isEmpty()) {
+                continue;
+            }
+            orderEventPublisher.publish(batch.stream().map(OrderOutboxRelay::toEvent).toList());
+            orderOutboxRepository.markDelivered(batch.stream().map(OrderOutboxEvent::getId).toList(),
+                    LocalDateTime.now());
+            published += batch.size();
+        } while (candidates.size() == properties.getBatchSize());
+
+        if (published > 0) {
+            log.debug("Relayed {} order events", published);
+        }
+    }
+
+    private static OrderEvent toEvent(OrderOutboxEvent row) {
+        return new OrderEvent(row.getId(), row.getEventType(), row.getOrderId(), row.getCreatedAt(),
+                row.getPayload());
+    }
+}
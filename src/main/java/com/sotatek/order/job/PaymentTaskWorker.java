@@ -0,0 +1,148 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.AsyncPaymentProperties;
+import com.sotatek.order.exception.PaymentOutcomeUnknownException;
+import com.sotatek.order.model.entity.PaymentTask;
+import com.sotatek.order.repository.PaymentTaskRepository;
+import com.sotatek.order.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the payment_tasks queue filled by {@link OrderService#acceptOrder}.
+ * Safe to run on several instances: tasks are claimed with a conditional update
+ * and a lease, so a task is processed by one worker at a time and is retried if
+ * its worker dies.
+ *
+ * A poll claims no more tasks than the worker pool and its queue have room for;
+ * while they are full, due tasks stay unclaimed for other instances or a later
+ * poll. The polling thread never runs a payment itself.
+ *
+ * Only failures known not to have reached the payment service are retried and,
+ * after {@code max-attempts}, fail the order. A call whose outcome is unknown may
+ * have charged, so its order is parked as PAYMENT_UNKNOWN instead. So is the order
+ * of a task claimed with {@code chargeRequested} set: a worker or request thread
+ * sent its payment and died, or could not tell whether it went through.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.async-payment", name = "enabled", matchIfMissing = true)
+public class PaymentTaskWorker {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentTaskRepository paymentTaskRepository;
+    private final OrderService orderService;
+    private final AsyncPaymentProperties properties;
+    private final Executor paymentWorkerExecutor;
+    // Room in the worker pool and its queue
+    private final Semaphore slots;
+
+    public PaymentTaskWorker(PaymentTaskRepository paymentTaskRepository, OrderService orderService,
+            AsyncPaymentProperties properties, @Qualifier("paymentWorkerExecutor") Executor paymentWorkerExecutor) {
+        this.paymentTaskRepository = paymentTaskRepository;
+        this.orderService = orderService;
+        this.properties = properties;
+        this.paymentWorkerExecutor = paymentWorkerExecutor;
+        this.slots = new Semaphore(properties.getWorkerThreads() + properties.getBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "${order.async-payment.poll-interval-ms:500}")
+    public void pollDueTasks() {
+        int room = Math.min(properties.getBatchSize(), slots.availablePermits());
+        if (room == 0) {
+            log.debug("Payment workers saturated, not claiming tasks");
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(properties.getLease());
+        List<PaymentTask> due = paymentTaskRepository.findDue(now, PageRequest.of(0, room));
+
+        for (PaymentTask task : due) {
+            if (!slots.tryAcquire()) {
+                return;
+            }
+            if (paymentTaskRepository.claim(task.getId(), now, lockedUntil) != 1) {
+                slots.release();
+                continue;
+            }
+            try {
+                paymentWorkerExecutor.execute(() -> {
+                    try {
+                        process(task);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                paymentTaskRepository.unclaim(task.getId());
+                log.warn("Payment worker pool rejected the task of order {}, handed back", task.getOrderId());
+                return;
+            }
+        }
+    }
+
+    void process(PaymentTask task) {
+        int attempt = task.getAttempts() + 1; // incremented by the claim
+        if (Boolean.TRUE.equals(task.getChargeRequested())) {
+            log.error("Payment for order {} may already have been sent, not sending it again", task.getOrderId());
+            holdForReconciliation(task);
+            return;
+        }
+        try {
+            orderService.completePayment(task.getOrderId());
+        } catch (PaymentOutcomeUnknownException e) {
+            // Retrying could charge twice
+            log.error("Payment for order {} has an unknown outcome on attempt {}: {}", task.getOrderId(), attempt,
+                    e.getMessage());
+            holdForReconciliation(task);
+        } catch (RuntimeException e) {
+            if (attempt >= properties.getMaxAttempts()) {
+                log.error("Payment for order {} failed after {} attempts", task.getOrderId(), attempt, e);
+                giveUp(task);
+            } else {
+                log.warn("Payment for order {} failed on attempt {}, retrying: {}", task.getOrderId(), attempt,
+                        e.getMessage());
+                LocalDateTime retryAt = LocalDateTime.now()
+                        .plus(properties.getRetryBackoff().multipliedBy(1L << (attempt - 1)));
+                paymentTaskRepository.reschedule(task.getId(), retryAt, truncate(e.getMessage()));
+            }
+        }
+    }
+
+    private void holdForReconciliation(PaymentTask task) {
+        try {
+            orderService.markPaymentUnknown(task.getOrderId());
+        } catch (RuntimeException e) {
+            log.error("Could not mark order {} as PAYMENT_UNKNOWN", task.getOrderId(), e);
+        }
+    }
+
+    // Every attempt failed before reaching the payment service, so nothing was charged
+    private void giveUp(PaymentTask task) {
+        try {
+            orderService.failPayment(task.getOrderId());
+        } catch (RuntimeException e) {
+            // The lease will expire and the task will be claimed again
+            log.error("Could not mark order {} as PAYMENT_FAILED", task.getOrderId(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
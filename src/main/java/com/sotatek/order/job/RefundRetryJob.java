@@ -0,0 +1,66 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.RefundRetryProperties;
+import com.sotatek.order.model.entity.Order;
+import com.sotatek.order.model.enums.OrderStatus;
+import com.sotatek.order.repository.OrderRepository;
+import com.sotatek.order.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Finishes cancellations whose refund did not complete. Orders that have been
+ * CANCELLING for longer than min-age are claimed one by one with a version bump,
+ * so only one instance retries a given refund per min-age window. The claim counts
+ * the retry; after {@code max-attempts} the order is parked as REFUND_FAILED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.refund-retry", name = "enabled", matchIfMissing = true)
+public class RefundRetryJob {
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final RefundRetryProperties properties;
+
+    @Scheduled(fixedDelayString = "${order.refund-retry.interval-ms:30000}")
+    public void retryRefunds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> stuck = orderRepository.findByStatusAndUpdatedAtBefore(OrderStatus.CANCELLING,
+                now.minus(properties.getMinAge()),
+                PageRequest.of(0, properties.getBatchSize(), Sort.by("updatedAt")));
+
+        for (Order order : stuck) {
+            if (orderRepository.claimCancelling(order.getId(), order.getVersion(), now) != 1) {
+                continue;
+            }
+            if (order.getRefundAttempts() >= properties.getMaxAttempts()) {
+                giveUp(order);
+                continue;
+            }
+            try {
+                orderService.completeCancellation(order.getId());
+            } catch (RuntimeException e) {
+                log.warn("Refund retry for order {} failed: {}", order.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void giveUp(Order order) {
+        try {
+            orderService.failRefund(order.getId());
+        } catch (RuntimeException e) {
+            // Still CANCELLING; the next claim tries again
+            log.error("Could not mark order {} as REFUND_FAILED", order.getId(), e);
+        }
+    }
+}
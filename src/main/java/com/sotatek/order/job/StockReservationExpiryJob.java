@@ -0,0 +1,22 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Returns stock held by orders that never reached a payment outcome within the
+ * hold TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockReservationExpiryJob {
+
+    private final StockReservationService stockReservationService;
+
+    @Scheduled(fixedDelayString = "${order.stock-reservation.expiry-interval-ms:30000}")
+    public void expireHolds() {
+        stockReservationService.expireHolds();
+    }
+}
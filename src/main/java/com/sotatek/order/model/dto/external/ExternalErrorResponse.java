@@ -0,0 +1,13 @@
+package com.sotatek.order.model.dto.external;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+@Data
+@Builder
+@Jacksonized
+public class ExternalErrorResponse {
+    private String code;
+    private String message;
+}
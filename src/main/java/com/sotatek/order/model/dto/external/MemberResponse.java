@@ -2,9 +2,11 @@ package com.sotatek.order.model.dto.external;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 @Data
 @Builder
+@Jacksonized
 public class MemberResponse {
     private Long id;
     private String name;
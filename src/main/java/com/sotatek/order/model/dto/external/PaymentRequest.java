@@ -3,11 +3,13 @@ package com.sotatek.order.model.dto.external;
 import com.sotatek.order.model.enums.PaymentMethod;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Data
 @Builder
+@Jacksonized
 public class PaymentRequest {
     private Long orderId;
     private BigDecimal amount;
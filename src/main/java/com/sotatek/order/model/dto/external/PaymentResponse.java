@@ -2,12 +2,14 @@ package com.sotatek.order.model.dto.external;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@Jacksonized
 public class PaymentResponse {
     private Long id;
     private Long orderId;
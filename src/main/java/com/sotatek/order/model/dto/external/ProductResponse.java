@@ -1,15 +1,28 @@
 package com.sotatek.order.model.dto.external;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 @Data
 @Builder
+@Jacksonized
 public class ProductResponse {
     private Long id;
     private String name;
     private BigDecimal price;
     private String status; // AVAILABLE, OUT_OF_STOCK, DISCONTINUED
+
+    // Set when served from the last-known-good store: age of the data
+    @JsonIgnore
+    private Duration staleness;
+
+    @JsonIgnore
+    public boolean isStale() {
+        return staleness != null;
+    }
 }
@@ -1,13 +1,27 @@
 package com.sotatek.order.model.dto.external;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.Duration;
 
 @Data
 @Builder
+@Jacksonized
 public class ProductStockResponse {
     private String productId;
     private Integer quantity;
     private Integer reservedQuantity;
     private Integer availableQuantity;
+
+    // Set when served from the last-known-good store: age of the data
+    @JsonIgnore
+    private Duration staleness;
+
+    @JsonIgnore
+    public boolean isStale() {
+        return staleness != null;
+    }
 }
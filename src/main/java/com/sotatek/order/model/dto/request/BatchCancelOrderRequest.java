@@ -0,0 +1,25 @@
+package com.sotatek.order.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchCancelOrderRequest {
+    @Size(max = 500, message = "Batch cannot exceed 500 orders")
+    private List<@NotNull Long> orderIds;
+
+    private String memberId; // Cancels all PENDING/CONFIRMED orders of the member
+
+    @JsonIgnore
+    @AssertTrue(message = "Either orderIds or memberId is required, not both")
+    public boolean isTargetValid() {
+        boolean byIds = orderIds != null && !orderIds.isEmpty();
+        boolean byMember = memberId != null && !memberId.isBlank();
+        return byIds != byMember;
+    }
+}
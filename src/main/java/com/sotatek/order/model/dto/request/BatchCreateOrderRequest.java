@@ -0,0 +1,16 @@
+package com.sotatek.order.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchCreateOrderRequest {
+    @NotEmpty(message = "Batch must contain at least one order")
+    @Size(max = 500, message = "Batch cannot exceed 500 orders")
+    @Valid
+    private List<CreateOrderRequest> orders;
+}
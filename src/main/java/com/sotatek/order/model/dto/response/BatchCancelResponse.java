@@ -0,0 +1,15 @@
+package com.sotatek.order.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchCancelResponse {
+    private List<BatchCancelResult> results; // Same order as the request, by id for a member
+    private int succeeded;
+    private int failed;
+    private boolean hasMore; // The member has more open orders; send the same request again
+}
@@ -0,0 +1,14 @@
+package com.sotatek.order.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchCancelResult {
+    private Long orderId;
+    private boolean success;
+    private OrderResponse order; // CANCELLED, or CANCELLING while the refund is retried
+    private String error; // ErrorCode as string, set when the order could not be cancelled
+    private String message;
+}
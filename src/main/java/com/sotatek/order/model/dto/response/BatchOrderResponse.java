@@ -0,0 +1,14 @@
+package com.sotatek.order.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchOrderResponse {
+    private List<BatchOrderResult> results; // Same order as the request
+    private int succeeded;
+    private int failed;
+}
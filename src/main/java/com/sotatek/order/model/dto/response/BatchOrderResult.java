@@ -0,0 +1,14 @@
+package com.sotatek.order.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchOrderResult {
+    private int index; // Position of the order in the batch request
+    private boolean success;
+    private OrderResponse order; // Set when the order was created
+    private String error; // ErrorCode as string, set when the order failed
+    private String message;
+}
@@ -2,11 +2,13 @@ package com.sotatek.order.model.dto.response;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class OrderItemResponse {
     private String productId;
     private String productName;
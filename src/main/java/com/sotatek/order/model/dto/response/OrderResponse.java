@@ -1,16 +1,19 @@
 package com.sotatek.order.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.sotatek.order.model.enums.OrderStatus;
 import com.sotatek.order.model.enums.PaymentMethod;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class OrderResponse {
     private Long id;
     private String memberId;
@@ -20,4 +23,7 @@ public class OrderResponse {
     private PaymentMethod paymentMethod;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    private Long version; // Order.version, used internally to order cache updates
 }
@@ -0,0 +1,14 @@
+package com.sotatek.order.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class OrderSliceResponse {
+    private List<OrderResponse> content;
+    private int size;
+    private String nextCursor; // null when there are no more orders
+}
@@ -0,0 +1,81 @@
+package com.sotatek.order.model.entity;
+
+import com.sotatek.order.model.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of a request sent with an Idempotency-Key. Rows are only ever
+ * inserted through {@code save}, so {@link #isNew()} is always true and a second
+ * insert for the same key fails on the primary key instead of merging.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    @Column(name = "error_code", length = 50)
+    private String errorCode;
+
+    // OrderResponse JSON when COMPLETED, error message when FAILED
+    @Lob
+    private String response;
+
+    // Claim lease; an IN_PROGRESS key whose lease ran out may be taken over
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    // Token of the claim holder; fences renew/complete/release against a takeover
+    @Column(length = 36)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof IdempotencyRecord that))
+            return false;
+        return idempotencyKey != null && idempotencyKey.equals(that.getIdempotencyKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -24,7 +24,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -54,6 +55,11 @@ public class Order {
     @Column(name = "refund_transaction_id")
     private String refundTransactionId;
 
+    // Refund retries by the refund retry job
+    @Column(name = "refund_attempts", nullable = false)
+    @Builder.Default
+    private Integer refundAttempts = 0;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,74 @@
+package com.sotatek.order.model.entity;
+
+import com.sotatek.order.model.enums.PaymentTaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queue entry for an order accepted without payment. Written in the same
+ * transaction as the order and deleted once payment reaches a final outcome.
+ */
+@Entity
+@Table(name = "payment_tasks")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_tasks_seq")
+    @SequenceGenerator(name = "payment_tasks_seq", sequenceName = "payment_tasks_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, unique = true)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private PaymentTaskStatus status = PaymentTaskStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // A payment request may have been sent; the task must not charge again
+    @Column(name = "charge_requested", nullable = false)
+    @Builder.Default
+    private Boolean chargeRequested = false;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    // Claim lease; a PROCESSING task whose lease ran out is picked up again
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof PaymentTask that))
+            return false;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,7 @@
+package com.sotatek.order.model.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED // Business error, replayed to retries
+}
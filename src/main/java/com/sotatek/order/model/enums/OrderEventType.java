@@ -0,0 +1,12 @@
+package com.sotatek.order.model.enums;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_CONFIRMED,
+    ORDER_PAYMENT_FAILED,
+    ORDER_PAYMENT_UNKNOWN,
+    ORDER_CANCELLED, // Once per order, when the cancel is accepted; CANCELLING if a refund is due
+    ORDER_REFUND_PENDING, // A payment completed after the order was cancelled and is being refunded
+    ORDER_REFUNDED,
+    ORDER_REFUND_FAILED
+}
@@ -3,6 +3,9 @@ package com.sotatek.order.model.enums;
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
+    CANCELLING, // Refund in progress; finalized to CANCELLED
     CANCELLED,
-    PAYMENT_FAILED
+    PAYMENT_FAILED,
+    PAYMENT_UNKNOWN, // Payment may have been charged; not retried, awaits reconciliation
+    REFUND_FAILED // Cancelled, but the refund kept failing; awaits manual review
 }
@@ -0,0 +1,6 @@
+package com.sotatek.order.model.enums;
+
+public enum PaymentTaskStatus {
+    PENDING,
+    PROCESSING
+}
@@ -0,0 +1,80 @@
+package com.sotatek.order.repository;
+
+import com.sotatek.order.model.entity.IdempotencyRecord;
+import com.sotatek.order.model.enums.IdempotencyStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Takes over a key whose owner stopped renewing its claim (lease ran out) or
+     * whose stored outcome has expired but not been purged yet. Returns 1 when this
+     * caller now owns the key under the given owner token.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r"
+            + " SET r.status = com.sotatek.order.model.enums.IdempotencyStatus.IN_PROGRESS, r.owner = :owner,"
+            + " r.errorCode = NULL, r.response = NULL, r.lockedUntil = :lockedUntil, r.expiresAt = :expiresAt"
+            + " WHERE r.idempotencyKey = :key"
+            + " AND ((r.status = com.sotatek.order.model.enums.IdempotencyStatus.IN_PROGRESS AND r.lockedUntil < :now)"
+            + " OR r.expiresAt < :now)")
+    int takeOver(@Param("key") String key, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Extends the lease of a claim still held by the owner. Returns 0 once the key
+     * was taken over or finished.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockedUntil = :lockedUntil"
+            + " WHERE r.idempotencyKey = :key AND r.owner = :owner"
+            + " AND r.status = com.sotatek.order.model.enums.IdempotencyStatus.IN_PROGRESS")
+    int renew(@Param("key") String key, @Param("owner") String owner,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Stores the outcome of a claim still held by the owner. Returns 0 when another
+     * instance took the key over, which then owns its outcome.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r"
+            + " SET r.status = :status, r.errorCode = :errorCode, r.response = :response,"
+            + " r.lockedUntil = NULL, r.expiresAt = :expiresAt"
+            + " WHERE r.idempotencyKey = :key AND r.owner = :owner"
+            + " AND r.status = com.sotatek.order.model.enums.IdempotencyStatus.IN_PROGRESS")
+    int complete(@Param("key") String key, @Param("owner") String owner, @Param("status") IdempotencyStatus status,
+            @Param("errorCode") String errorCode, @Param("response") String response,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Drops an unfinished claim held by the owner so the next retry runs the
+     * request again.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.owner = :owner"
+            + " AND r.status = com.sotatek.order.model.enums.IdempotencyStatus.IN_PROGRESS")
+    int release(@Param("key") String key, @Param("owner") String owner);
+
+    @Query("SELECT r.idempotencyKey FROM IdempotencyRecord r WHERE r.expiresAt < :now ORDER BY r.expiresAt")
+    List<String> findExpiredKeys(@Param("now") LocalDateTime now, Pageable limit);
+
+    // Re-checks expiry so a key taken over since it was listed survives
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey IN :keys AND r.expiresAt < :now")
+    int deleteExpired(@Param("keys") List<String> keys, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,59 @@
+package com.sotatek.order.repository;
+
+import com.sotatek.order.model.entity.OrderOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    /**
+     * Ids of the next undelivered events after the given id (keyset scan, no
+     * offset) that no other relay holds. Candidates only; each must still be won
+     * through {@link #claim}. Backed by idx_order_outbox_delivered_at_id.
+     */
+    @Query("SELECT e.id FROM OrderOutboxEvent e WHERE e.deliveredAt IS NULL AND e.id > :afterId"
+            + " AND (e.lockedUntil IS NULL OR e.lockedUntil < :now OR e.lockedBy = :owner)"
+            + " ORDER BY e.id")
+    List<Long> findClaimableAfter(@Param("afterId") Long afterId, @Param("owner") String owner,
+            @Param("now") LocalDateTime now, Pageable limit);
+
+    /**
+     * Conditional update that leases candidates to one relay. Rows another relay
+     * leased in between are left alone; {@link #findClaimed} returns the rows won.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.lockedBy = :owner, e.lockedUntil = :lockedUntil"
+            + " WHERE e.id IN :ids AND e.deliveredAt IS NULL"
+            + " AND (e.lockedUntil IS NULL OR e.lockedUntil < :now OR e.lockedBy = :owner)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Query("SELECT e FROM OrderOutboxEvent e WHERE e.id IN :ids AND e.lockedBy = :owner AND e.deliveredAt IS NULL"
+            + " ORDER BY e.id")
+    List<OrderOutboxEvent> findClaimed(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.deliveredAt = :deliveredAt, e.lockedBy = NULL, e.lockedUntil = NULL"
+            + " WHERE e.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    @Query("SELECT e.id FROM OrderOutboxEvent e WHERE e.deliveredAt < :cutoff ORDER BY e.deliveredAt")
+    List<Long> findDeliveredBefore(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderOutboxEvent e WHERE e.id IN :ids AND e.deliveredAt < :cutoff")
+    int deleteDelivered(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+}
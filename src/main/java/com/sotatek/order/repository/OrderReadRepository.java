@@ -0,0 +1,94 @@
+package com.sotatek.order.repository;
+
+import com.sotatek.order.model.dto.response.OrderItemResponse;
+import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.repository.projection.OrderRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read-side queries that select straight into {@link OrderRow} projections and
+ * assemble {@link OrderResponse}s, skipping entity hydration, dirty-checking
+ * snapshots and auditing listeners. Queries run in read-only transactions.
+ */
+@Repository
+public class OrderReadRepository {
+
+    private static final String SELECT_ROWS = "SELECT new com.sotatek.order.repository.projection.OrderRow("
+            + "o.id, o.version, o.memberId, o.status, o.totalAmount, o.paymentMethod, o.createdAt, o.updatedAt, "
+            + "i.productId, i.productName, i.quantity, i.unitPrice, i.subtotal) "
+            + "FROM Order o LEFT JOIN o.items i ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> findById(Long id) {
+        return findAllByIds(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Loads orders with their items in a single query.
+     *
+     * @return responses in the same order as {@code ids}; unknown ids are skipped
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, OrderResponse> byId = new HashMap<>();
+        try (Stream<OrderRow> rows = entityManager
+                .createQuery(SELECT_ROWS + "WHERE o.id IN :ids ORDER BY o.id, i.id", OrderRow.class)
+                .setParameter("ids", ids)
+                .getResultStream()) {
+            rows.forEach(row -> {
+                OrderResponse order = byId.computeIfAbsent(row.orderId(), id -> toResponse(row));
+                if (row.hasItem()) {
+                    order.getItems().add(toItemResponse(row));
+                }
+            });
+        }
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private OrderResponse toResponse(OrderRow row) {
+        return OrderResponse.builder()
+                .id(row.orderId())
+                .version(row.version())
+                .memberId(row.memberId())
+                .items(new ArrayList<>())
+                .totalAmount(row.totalAmount())
+                .status(row.status())
+                .paymentMethod(row.paymentMethod())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
+    private OrderItemResponse toItemResponse(OrderRow row) {
+        return OrderItemResponse.builder()
+                .productId(row.productId())
+                .productName(row.productName())
+                .quantity(row.quantity())
+                .unitPrice(row.unitPrice())
+                .subtotal(row.subtotal())
+                .build();
+    }
+}
@@ -6,12 +6,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,6 +29,61 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByMemberIdAndStatus(String memberId, OrderStatus status);
 
+    /**
+     * Page of order ids only; the read model is loaded separately by
+     * {@link OrderReadRepository}.
+     */
+    @Query(value = "SELECT o.id FROM Order o", countQuery = "SELECT count(o) FROM Order o")
+    Page<Long> findIds(Pageable pageable);
+
+    /**
+     * First slice of the keyset listing (newest first). The pageable only
+     * carries the limit; no count query is issued.
+     */
+    @Query("SELECT o.id FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findNewestIds(Pageable limit);
+
+    /**
+     * Next slice of the keyset listing, strictly after the given (createdAt, id)
+     * position. Backed by idx_orders_created_at_id.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.createdAt < :createdAt"
+            + " OR (o.createdAt = :createdAt AND o.id < :id)"
+            + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findNewestIdsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.memberId = :memberId AND o.status IN :statuses ORDER BY o.id")
+    List<Long> findIdsByMemberIdAndStatusIn(@Param("memberId") String memberId,
+            @Param("statuses") Collection<OrderStatus> statuses, Pageable limit);
+
+    /**
+     * Locks a set of orders in id order, so concurrent bulk operations cannot
+     * deadlock on each other. Items are not fetched; see {@link #fetchItems}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+    // Initializes the items of already loaded orders in one query
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> fetchItems(@Param("ids") Collection<Long> ids);
+
+    List<Order> findByStatusAndUpdatedAtBefore(OrderStatus status, LocalDateTime updatedBefore, Pageable limit);
+
+    /**
+     * Claims a CANCELLING order for a refund retry by bumping its version and
+     * updatedAt, and counts the attempt. Returns 0 if the order changed since it was
+     * read, e.g. another instance claimed it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Order o SET o.updatedAt = :now, o.version = o.version + 1,"
+            + " o.refundAttempts = o.refundAttempts + 1"
+            + " WHERE o.id = :id AND o.version = :version"
+            + " AND o.status = com.sotatek.order.model.enums.OrderStatus.CANCELLING")
+    int claimCancelling(@Param("id") Long id, @Param("version") Long version, @Param("now") LocalDateTime now);
+
     /**
      * Find order by ID with pessimistic write lock to prevent concurrent
      * modifications.
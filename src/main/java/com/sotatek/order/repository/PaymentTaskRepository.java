@@ -0,0 +1,76 @@
+package com.sotatek.order.repository;
+
+import com.sotatek.order.model.entity.PaymentTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentTaskRepository extends JpaRepository<PaymentTask, Long> {
+
+    /**
+     * Tasks that are ready to run, plus claimed tasks whose worker has gone away.
+     * Candidates only; each must still be won through {@link #claim}.
+     */
+    @Query("SELECT t FROM PaymentTask t"
+            + " WHERE (t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PENDING AND t.availableAt <= :now)"
+            + " OR (t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PROCESSING AND t.lockedUntil < :now)"
+            + " ORDER BY t.availableAt")
+    List<PaymentTask> findDue(@Param("now") LocalDateTime now, Pageable limit);
+
+    /**
+     * Conditional update that claims a task for one worker. Returns 1 when this
+     * caller won the task, 0 when another worker (or instance) got it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PaymentTask t"
+            + " SET t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PROCESSING,"
+            + " t.lockedUntil = :lockedUntil, t.attempts = t.attempts + 1"
+            + " WHERE t.id = :id"
+            + " AND ((t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PENDING AND t.availableAt <= :now)"
+            + " OR (t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PROCESSING AND t.lockedUntil < :now))")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PaymentTask t"
+            + " SET t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PENDING,"
+            + " t.availableAt = :availableAt, t.lockedUntil = NULL, t.lastError = :lastError"
+            + " WHERE t.id = :id")
+    int reschedule(@Param("id") Long id, @Param("availableAt") LocalDateTime availableAt,
+            @Param("lastError") String lastError);
+
+    /**
+     * Hands back a claimed task that was never started, without counting the attempt.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PaymentTask t"
+            + " SET t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PENDING,"
+            + " t.lockedUntil = NULL, t.attempts = t.attempts - 1"
+            + " WHERE t.id = :id AND t.status = com.sotatek.order.model.enums.PaymentTaskStatus.PROCESSING")
+    int unclaim(@Param("id") Long id);
+
+    /**
+     * Marks that a payment request for the order may reach the provider. Set before
+     * the call, so a task claimed after a crash or an unknown outcome does not charge
+     * again.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PaymentTask t SET t.chargeRequested = :chargeRequested WHERE t.orderId = :orderId")
+    int markChargeRequested(@Param("orderId") Long orderId, @Param("chargeRequested") boolean chargeRequested);
+
+    @Modifying
+    @Query("DELETE FROM PaymentTask t WHERE t.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,31 @@
+package com.sotatek.order.repository.projection;
+
+import com.sotatek.order.model.enums.OrderStatus;
+import com.sotatek.order.model.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-side projection: one row per order item (item columns are null for
+ * an order without items). Selected directly by JPQL, never managed.
+ */
+public record OrderRow(
+        Long orderId,
+        Long version,
+        String memberId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        PaymentMethod paymentMethod,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String productId,
+        String productName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal) {
+
+    public boolean hasItem() {
+        return productId != null;
+    }
+}
@@ -1,43 +1,348 @@
 package com.sotatek.order.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sotatek.order.config.IdempotencyProperties;
+import com.sotatek.order.exception.ErrorCode;
+import com.sotatek.order.exception.IdempotencyKeyInProgressException;
+import com.sotatek.order.exception.ReplayedErrorException;
 import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.entity.IdempotencyRecord;
+import com.sotatek.order.model.enums.IdempotencyStatus;
+import com.sotatek.order.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+/**
+ * Idempotency-Key handling in two tiers: a size-weighted local cache (L1) in front
+ * of the {@code idempotency_keys} table (L2) shared by all instances. A key is
+ * claimed by inserting its IN_PROGRESS row, so the request runs once across the
+ * cluster; retries elsewhere wait for the stored outcome.
+ *
+ * Each claim carries an owner token. While the request runs, its lease is renewed
+ * every third of the lease, so a slow order is not taken over by a retry on another
+ * instance; only a claim whose owner stopped renewing is. Storing and releasing
+ * are conditional on the token, so an owner that lost its claim cannot overwrite
+ * the outcome of the instance that took over.
+ */
+@Slf4j
 @Service
-public class IdempotencyService {
+public class IdempotencyService implements AutoCloseable {
 
-    // Atomic cache with TTL (10 mins) and size limit (1000) to prevent memory leak
-    private final Cache<String, OrderResponse> cache = Caffeine.newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .maximumSize(1000)
-            .build();
+    private static final int MAX_KEY_LENGTH = 255;
+    // Conflicts with concurrent work: a retry of the same request can succeed
+    private static final Set<ErrorCode> TRANSIENT_CONFLICTS =
+            EnumSet.of(ErrorCode.CONCURRENT_MODIFICATION, ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+
+    // Completed outcomes, weighed by their approximate serialized size
+    private final Cache<String, Outcome> completed;
+
+    // Requests currently being processed; concurrent duplicates wait on the same future
+    private final ConcurrentMap<String, CompletableFuture<OrderResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // Keys claimed in L2 by this instance, with their owner tokens; renewed until done
+    private final ConcurrentMap<String, String> claims = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor renewer;
+
+    public IdempotencyService(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+            IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(properties.getLocalMaximumSize().toBytes())
+                .weigher((String key, Outcome outcome) -> key.length() + outcome.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("idempotency-renew-");
+        threadFactory.setDaemon(true);
+        this.renewer = new ScheduledThreadPoolExecutor(1, threadFactory);
+        long period = Math.max(1, properties.getLease().toMillis() / 3);
+        renewer.scheduleWithFixedDelay(this::renewClaims, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        renewer.shutdownNow();
+    }
 
     /**
-     * Gets a cached response or computes a new one atomically.
-     * Fixes critical race condition issue.
+     * Returns the stored outcome for the key, waits for a request with the same key
+     * in progress here or on another instance, or runs the supplier. The supplier
+     * runs on the calling thread outside any map lock, so a slow order never blocks
+     * unrelated keys.
+     *
+     * Business errors (4xx) are stored and replayed like responses; transient errors
+     * (5xx, and the 409 conflicts with concurrent work) are not, so a later retry
+     * runs again.
+     *
+     * @throws IdempotencyKeyInProgressException if another instance is still
+     *                                           processing the key after the wait timeout
      */
     public OrderResponse getOrCompute(String key, Supplier<OrderResponse> supplier) {
         if (key == null) {
             return supplier.get();
         }
-        return cache.get(key, k -> supplier.get());
+        String storageKey = storageKey(key);
+        Outcome done = completed.getIfPresent(storageKey);
+        if (done != null) {
+            return done.replay();
+        }
+
+        CompletableFuture<OrderResponse> mine = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> existing = inFlight.putIfAbsent(storageKey, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            OrderResponse response = runOnce(storageKey, supplier);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Removed only after the outcome is stored, so no duplicate can slip through the gap
+            inFlight.remove(storageKey, mine);
+        }
+    }
+
+    private OrderResponse runOnce(String key, Supplier<OrderResponse> supplier) {
+        // The previous owner on this instance may have finished between the lookup and putIfAbsent
+        Outcome done = completed.getIfPresent(key);
+        String owner = UUID.randomUUID().toString();
+        if (done == null) {
+            done = claimOrAwait(key, owner);
+        }
+        if (done != null) {
+            completed.put(key, done);
+            return done.replay();
+        }
+
+        claims.put(key, owner);
+        Outcome outcome;
+        try {
+            OrderResponse response = supplier.get();
+            outcome = Outcome.success(response, toJson(response));
+        } catch (RuntimeException e) {
+            ErrorCode code = ErrorCode.from(e);
+            if (!code.getStatus().is4xxClientError() || TRANSIENT_CONFLICTS.contains(code)) {
+                release(key, owner);
+                throw e;
+            }
+            outcome = Outcome.failure(e);
+        } catch (Error e) {
+            release(key, owner);
+            throw e;
+        }
+        store(key, owner, outcome);
+        completed.put(key, outcome);
+        return outcome.replay();
     }
 
-    public Optional<OrderResponse> getResponse(String key) {
-        if (key == null)
-            return Optional.empty();
-        return Optional.ofNullable(cache.getIfPresent(key));
+    /**
+     * Extends the lease of every key this instance is still working on.
+     */
+    void renewClaims() {
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(properties.getLease());
+        claims.forEach((key, owner) -> {
+            try {
+                if (repository.renew(key, owner, lockedUntil) == 0 && claims.remove(key, owner)) {
+                    log.warn("Lost idempotency key {} to another instance while processing it", key);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not renew idempotency key {}: {}", key, e.getMessage());
+            }
+        });
     }
 
-    public void storeResponse(String key, OrderResponse response) {
-        if (key != null && response != null) {
-            cache.put(key, response);
+    /**
+     * Claims the key in L2 for the owner, or waits for the instance that holds it.
+     * Returns null when this caller now owns the key, otherwise the stored outcome.
+     */
+    private Outcome claimOrAwait(String key, String owner) {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            if (tryClaim(key, owner, now)) {
+                return null;
+            }
+            Optional<IdempotencyRecord> stored = repository.findById(key);
+            if (stored.isPresent() && stored.get().getStatus() != IdempotencyStatus.IN_PROGRESS
+                    && stored.get().getExpiresAt().isAfter(now)) {
+                return fromRecord(stored.get());
+            }
+            if (stored.isPresent() && repository.takeOver(key, owner, now, now.plus(properties.getLease()),
+                    now.plus(properties.getTtl())) == 1) {
+                log.warn("Took over abandoned idempotency key {}", key);
+                return null;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IdempotencyKeyInProgressException(
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            sleep(properties.getPollInterval());
+        }
+    }
+
+    private boolean tryClaim(String key, String owner, LocalDateTime now) {
+        try {
+            repository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .owner(owner)
+                    .lockedUntil(now.plus(properties.getLease()))
+                    .expiresAt(now.plus(properties.getTtl()))
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void store(String key, String owner, Outcome outcome) {
+        claims.remove(key, owner);
+        try {
+            int stored;
+            if (outcome.error() == null) {
+                stored = repository.complete(key, owner, IdempotencyStatus.COMPLETED, null, outcome.json(),
+                        LocalDateTime.now().plus(properties.getTtl()));
+            } else {
+                stored = repository.complete(key, owner, IdempotencyStatus.FAILED,
+                        ErrorCode.from(outcome.error()).name(), outcome.error().getMessage(),
+                        LocalDateTime.now().plus(properties.getTtl()));
+            }
+            if (stored == 0) {
+                log.warn("Idempotency key {} was taken over before its outcome was stored", key);
+            }
+        } catch (DataAccessException e) {
+            // The claim stays IN_PROGRESS until its lease runs out; L1 still answers retries here
+            log.warn("Could not store outcome for idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void release(String key, String owner) {
+        claims.remove(key, owner);
+        try {
+            repository.release(key, owner);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Outcome fromRecord(IdempotencyRecord record) {
+        if (record.getStatus() == IdempotencyStatus.FAILED) {
+            return Outcome.failure(new ReplayedErrorException(ErrorCode.valueOf(record.getErrorCode()),
+                    record.getResponse()));
+        }
+        try {
+            return Outcome.success(objectMapper.readValue(record.getResponse(), OrderResponse.class),
+                    record.getResponse());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored response for idempotency key "
+                    + record.getIdempotencyKey(), e);
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + response.getId(), e);
+        }
+    }
+
+    // Keys longer than the column are stored by digest
+    private static String storageKey(String key) {
+        if (key.length() <= MAX_KEY_LENGTH) {
+            return key;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(Duration interval) {
+        try {
+            Thread.sleep(interval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for Idempotency-Key");
+        }
+    }
+
+    private static OrderResponse await(CompletableFuture<OrderResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Outcome(OrderResponse response, String json, RuntimeException error) {
+
+        static Outcome success(OrderResponse response, String json) {
+            return new Outcome(response, json, null);
+        }
+
+        static Outcome failure(RuntimeException error) {
+            return new Outcome(null, null, error);
+        }
+
+        int weight() {
+            if (json != null) {
+                return json.length();
+            }
+            String message = error != null ? error.getMessage() : null;
+            return 64 + (message != null ? message.length() : 0);
+        }
+
+        OrderResponse replay() {
+            if (error != null) {
+                throw error;
+            }
+            return response;
         }
     }
 }
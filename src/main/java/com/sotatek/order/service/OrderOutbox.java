@@ -0,0 +1,41 @@
+package com.sotatek.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.entity.OrderOutboxEvent;
+import com.sotatek.order.model.enums.OrderEventType;
+import com.sotatek.order.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes order lifecycle events to the outbox table. Must be called inside the
+ * transaction that changes the order, so the event commits or rolls back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OrderEventType type, OrderResponse order) {
+        orderOutboxRepository.save(OrderOutboxEvent.builder()
+                .orderId(order.getId())
+                .eventType(type)
+                .payload(toJson(order))
+                .build());
+    }
+
+    private String toJson(OrderResponse order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + order.getId(), e);
+        }
+    }
+}
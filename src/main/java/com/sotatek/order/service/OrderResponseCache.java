@@ -0,0 +1,113 @@
+package com.sotatek.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sotatek.order.config.OrderCacheProperties;
+import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.enums.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of {@link OrderResponse} by order id. Writes only replace an
+ * entry with the same or a newer {@code Order.version}, so a reader that loaded
+ * an older row can never overwrite a fresher update.
+ *
+ * The cache is per instance: a change made on another instance is not evicted
+ * here, so this instance can serve the previous status until the entry expires.
+ * That is at most {@code confirmed-ttl} for a CONFIRMED order cancelled elsewhere
+ * and {@code pending-ttl} for an order in flight; PAYMENT_FAILED and CANCELLED
+ * orders do not change again and keep the longer {@code terminal-ttl}.
+ *
+ * {@link OrderResponse} is mutable, so entries are copied on the way in and out;
+ * callers never share an instance with the cache or with each other.
+ */
+@Component
+public class OrderResponseCache {
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES = EnumSet.of(
+            OrderStatus.PAYMENT_FAILED, OrderStatus.CANCELLED);
+
+    private final boolean enabled;
+    private final Cache<Long, OrderResponse> cache;
+
+    public OrderResponseCache(OrderCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        long terminalTtlNanos = properties.getTerminalTtl().toNanos();
+        long confirmedTtlNanos = properties.getConfirmedTtl().toNanos();
+        long pendingTtlNanos = properties.getPendingTtl().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<Long, OrderResponse>() {
+                    @Override
+                    public long expireAfterCreate(Long id, OrderResponse order, long currentTime) {
+                        if (TERMINAL_STATUSES.contains(order.getStatus())) {
+                            return terminalTtlNanos;
+                        }
+                        return order.getStatus() == OrderStatus.CONFIRMED ? confirmedTtlNanos : pendingTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, OrderResponse order, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(id, order, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, OrderResponse order, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orderResponse");
+    }
+
+    public Optional<OrderResponse> get(Long id, Supplier<Optional<OrderResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        OrderResponse cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        Optional<OrderResponse> loaded = loader.get();
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Stores the response unless a newer version of the order is already cached.
+     */
+    public void put(OrderResponse response) {
+        if (!enabled || response == null || response.getId() == null) {
+            return;
+        }
+        cache.asMap().merge(response.getId(), copy(response),
+                (current, candidate) -> version(candidate) >= version(current) ? candidate : current);
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    private static OrderResponse copy(OrderResponse response) {
+        return response.toBuilder()
+                .items(response.getItems() == null ? null
+                        : response.getItems().stream().map(item -> item.toBuilder().build()).toList())
+                .build();
+    }
+
+    private static long version(OrderResponse response) {
+        return response.getVersion() == null ? -1 : response.getVersion();
+    }
+}
@@ -1,11 +1,17 @@
 package com.sotatek.order.service;
 
+import com.sotatek.order.model.dto.request.BatchCancelOrderRequest;
+import com.sotatek.order.model.dto.request.BatchCreateOrderRequest;
 import com.sotatek.order.model.dto.request.CreateOrderRequest;
 import com.sotatek.order.model.dto.request.UpdateOrderRequest;
+import com.sotatek.order.model.dto.response.BatchCancelResponse;
+import com.sotatek.order.model.dto.response.BatchOrderResponse;
 import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.dto.response.OrderSliceResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 /**
  * Service interface for managing orders.
@@ -25,6 +31,71 @@ public interface OrderService {
      */
     OrderResponse createOrder(@NonNull CreateOrderRequest request);
 
+    /**
+     * Validates the order and stores it as PENDING together with a payment task,
+     * without calling the payment service. Payment is completed in the background
+     * by {@link #completePayment}.
+     *
+     * @param request the order creation request
+     * @return the accepted order, still PENDING
+     * @throws MemberInactiveException     if the member is not active
+     * @throws ProductUnavailableException if any product is not available
+     * @throws InsufficientStockException  if any product has insufficient stock
+     */
+    OrderResponse acceptOrder(@NonNull CreateOrderRequest request);
+
+    /**
+     * Pays for a PENDING order that has a payment task (accepted asynchronously,
+     * or a synchronous create that never settled) and removes the task. Does
+     * nothing but remove the task if the order is no longer PENDING. No
+     * transaction is held during the payment call.
+     *
+     * @param orderId the PENDING order
+     * @throws ServiceUnavailableException if the payment service cannot be reached;
+     *                                     the task is kept for a retry
+     */
+    void completePayment(@NonNull Long orderId);
+
+    /**
+     * Gives up on an accepted order whose payment could not be completed: marks it
+     * PAYMENT_FAILED if still PENDING and removes its payment task.
+     *
+     * @param orderId the accepted order
+     */
+    void failPayment(@NonNull Long orderId);
+
+    /**
+     * Parks a PENDING order whose payment call ended without a known outcome: marks
+     * it PAYMENT_UNKNOWN and removes its payment task. The payment is not retried,
+     * since the provider may already have charged it; the stock hold is kept for
+     * the confirmed-order TTL rather than expiring with the unpaid one.
+     *
+     * @param orderId the order whose payment outcome is unknown
+     */
+    void markPaymentUnknown(@NonNull Long orderId);
+
+    /**
+     * Creates many orders at once. Members and products are looked up once per
+     * distinct id across the batch and stock is shared between orders in request
+     * order. Each order succeeds or fails on its own.
+     *
+     * @param request the orders to create
+     * @return one result per order, in request order
+     */
+    BatchOrderResponse createOrders(@NonNull BatchCreateOrderRequest request);
+
+    /**
+     * Cancels many orders at once, either the given ids or the PENDING/CONFIRMED
+     * orders of a member, at most 500 per request; {@code hasMore} tells the caller
+     * to repeat a member request. Orders are locked and moved to CANCELLED/CANCELLING
+     * in chunks; refunds run in parallel after each chunk commits. Each order
+     * succeeds or fails on its own.
+     *
+     * @param request the order ids or member to cancel
+     * @return one result per order
+     */
+    BatchCancelResponse cancelOrders(@NonNull BatchCancelOrderRequest request);
+
     /**
      * Retrieves an order by its ID.
      *
@@ -42,14 +113,43 @@ public interface OrderService {
      */
     Page<OrderResponse> listOrders(@NonNull Pageable pageable);
 
+    /**
+     * Lists orders newest first using keyset pagination (no total count).
+     *
+     * @param cursor opaque cursor from a previous slice, or null for the first
+     *               slice
+     * @param size   maximum number of orders in the slice
+     * @return the slice with the cursor of the next one, if any
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    OrderSliceResponse listOrdersByCursor(@Nullable String cursor, int size);
+
     /**
      * Cancels an existing order.
      *
      * @param id      the order ID
      * @param request the update request (must contain CANCELLED status)
-     * @return the updated order response
-     * @throws InvalidOrderStatusException if order is already cancelled or request
-     *                                     status is invalid
+     * @return the updated order response; CANCELLING while a refund is still
+     *         pending
+     * @throws InvalidOrderStatusException if order is already cancelled (or being
+     *                                     cancelled) or request status is invalid
      */
     OrderResponse cancelOrder(@NonNull Long id, @NonNull UpdateOrderRequest request);
+
+    /**
+     * Retries the refund of a CANCELLING order and marks it CANCELLED once the
+     * refund succeeds. Does nothing if the order is no longer CANCELLING.
+     *
+     * @param orderId the order being cancelled
+     */
+    void completeCancellation(@NonNull Long orderId);
+
+    /**
+     * Gives up on the refund of a CANCELLING order: marks it REFUND_FAILED so it can
+     * be reviewed and refunded by hand. Does nothing if the order is no longer
+     * CANCELLING.
+     *
+     * @param orderId the order whose refund kept failing
+     */
+    void failRefund(@NonNull Long orderId);
 }
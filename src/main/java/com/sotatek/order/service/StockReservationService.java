@@ -0,0 +1,268 @@
+package com.sotatek.order.service;
+
+import com.sotatek.order.config.StockReservationProperties;
+import com.sotatek.order.exception.InsufficientStockException;
+import com.sotatek.order.model.entity.Order;
+import com.sotatek.order.model.entity.OrderItem;
+import com.sotatek.order.model.entity.StockReservation;
+import com.sotatek.order.repository.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Ledger of stock held by unpaid orders. The product service only reports a
+ * point-in-time available quantity; an order may take it only if the quantity
+ * already held by other orders on this instance leaves enough.
+ *
+ * Each product has one counter updated by compare-and-set, so orders for a hot
+ * product never queue on a lock. An order's lines are reserved one by one and
+ * rolled back if a later line is short; a concurrent order can then fail
+ * spuriously, but stock is never promised twice.
+ *
+ * Holds are mirrored in {@code stock_reservations} so they survive a restart,
+ * and expire after {@code order.stock-reservation.hold-ttl}. The order service
+ * never tells the product service about a sale, so a paid order keeps its hold
+ * for {@code confirmed-hold-ttl} instead of dropping it, until the product
+ * service has had time to record the sale on its own.
+ */
+@Slf4j
+@Component
+public class StockReservationService {
+
+    private final StockReservationRepository repository;
+    private final StockReservationProperties properties;
+
+    // Quantity held per product
+    private final ConcurrentMap<String, AtomicInteger> reserved = new ConcurrentHashMap<>();
+    // Every live hold, for expiry
+    private final Set<Hold> holds = ConcurrentHashMap.newKeySet();
+    // Holds stored with an order
+    private final ConcurrentMap<Long, Hold> holdsByOrder = new ConcurrentHashMap<>();
+
+    public StockReservationService(StockReservationRepository repository, StockReservationProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * Reserves every line of the order against the given available quantities,
+     * all or nothing. The hold must be attached once the order has an id, or
+     * released if the order is not stored.
+     *
+     * @throws InsufficientStockException if any product would be oversold
+     */
+    public Hold reserve(Order order, Map<String, Integer> availableStock) {
+        // Sorted so concurrent orders touch counters in the same order
+        Map<String, Integer> quantities = order.getItems().stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQuantity, Integer::sum,
+                        TreeMap::new));
+
+        Map<String, Integer> taken = new TreeMap<>();
+        try {
+            quantities.forEach((productId, quantity) -> {
+                int available = availableStock.getOrDefault(productId, 0);
+                AtomicInteger counter = reserved.computeIfAbsent(productId, id -> new AtomicInteger());
+                int current;
+                do {
+                    current = counter.get();
+                    if (current + quantity > available) {
+                        throw new InsufficientStockException("Insufficient stock for product: " + productId);
+                    }
+                } while (!counter.compareAndSet(current, current + quantity));
+                taken.put(productId, quantity);
+            });
+        } catch (InsufficientStockException e) {
+            taken.forEach((productId, quantity) -> reserved.get(productId).addAndGet(-quantity));
+            throw e;
+        }
+
+        Hold hold = new Hold(taken, LocalDateTime.now().plus(properties.getHoldTtl()));
+        holds.add(hold);
+        return hold;
+    }
+
+    /**
+     * Stores the hold with its order, in the transaction that stores the order. If
+     * that transaction rolls back the hold is released.
+     */
+    public void attach(Hold hold, Long orderId) {
+        hold.orderId = orderId;
+        holdsByOrder.put(orderId, hold);
+        repository.saveAll(hold.quantities.entrySet().stream()
+                .map(line -> StockReservation.builder()
+                        .orderId(orderId)
+                        .productId(line.getKey())
+                        .quantity(line.getValue())
+                        .expiresAt(hold.expiresAt)
+                        .build())
+                .toList());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(hold);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The order was paid. Its available quantity does not drop at the product
+     * service, so the hold is kept, now until {@code confirmed-hold-ttl}, to keep
+     * the sold units from being offered again. Cancelling the order releases it.
+     */
+    public void commit(Long orderId) {
+        log.debug("Confirming stock hold of order {}", orderId);
+        extend(orderId);
+    }
+
+    /**
+     * The order's payment outcome is unknown; it may have been charged. The hold is
+     * kept like a paid one, until {@code confirmed-hold-ttl}, so the units are not
+     * sold again while the order waits for reconciliation.
+     */
+    public void holdForReconciliation(Long orderId) {
+        log.debug("Keeping stock hold of order {} for reconciliation", orderId);
+        extend(orderId);
+    }
+
+    /**
+     * The order failed or was cancelled; its stock is returned once the caller's
+     * transaction commits. No-op if the order holds nothing.
+     */
+    public void release(Long orderId) {
+        log.debug("Releasing stock hold of order {}", orderId);
+        drop(orderId);
+    }
+
+    /**
+     * Returns the stock of a hold that was never stored or whose order was rolled
+     * back. Safe to call more than once.
+     */
+    public void release(Hold hold) {
+        if (!hold.released.compareAndSet(false, true)) {
+            return;
+        }
+        hold.quantities.forEach((productId, quantity) -> reserved.get(productId).addAndGet(-quantity));
+        holds.remove(hold);
+        if (hold.orderId != null) {
+            holdsByOrder.remove(hold.orderId, hold);
+        }
+    }
+
+    /**
+     * Releases holds whose TTL ran out and deletes their rows.
+     */
+    public void expireHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (Hold hold : holds) {
+            if (hold.expiresAt.isBefore(now)) {
+                release(hold);
+                expired++;
+            }
+        }
+        int deleted = repository.deleteExpired(now);
+        if (expired > 0 || deleted > 0) {
+            log.info("Expired {} stock holds, deleted {} reservation rows", expired, deleted);
+        }
+    }
+
+    public int reservedQuantity(String productId) {
+        AtomicInteger counter = reserved.get(productId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Rebuilds the ledger from stored holds after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<StockReservation> rows = repository.findByExpiresAtAfter(LocalDateTime.now());
+        rows.stream()
+                .collect(Collectors.groupingBy(StockReservation::getOrderId))
+                .forEach((orderId, lines) -> {
+                    Map<String, Integer> quantities = lines.stream()
+                            .collect(Collectors.toMap(StockReservation::getProductId,
+                                    StockReservation::getQuantity, Integer::sum, TreeMap::new));
+                    quantities.forEach((productId, quantity) -> reserved
+                            .computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity));
+                    Hold hold = new Hold(quantities, lines.get(0).getExpiresAt());
+                    hold.orderId = orderId;
+                    holds.add(hold);
+                    holdsByOrder.put(orderId, hold);
+                });
+        if (!rows.isEmpty()) {
+            log.info("Recovered {} stock holds", holdsByOrder.size());
+        }
+    }
+
+    private void extend(Long orderId) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(properties.getConfirmedHoldTtl());
+        repository.extendByOrderId(orderId, expiresAt);
+        afterCommit(() -> {
+            Hold hold = holdsByOrder.get(orderId);
+            if (hold != null) {
+                hold.expiresAt = expiresAt;
+            }
+        });
+    }
+
+    private void drop(Long orderId) {
+        repository.deleteByOrderId(orderId);
+        afterCommit(() -> releaseOrder(orderId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void releaseOrder(Long orderId) {
+        Hold hold = holdsByOrder.get(orderId);
+        if (hold != null) {
+            release(hold);
+        }
+    }
+
+    /**
+     * Quantities held for one order. Identity-based, so each hold is released once.
+     */
+    public static final class Hold {
+        private final Map<String, Integer> quantities;
+        private volatile LocalDateTime expiresAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Long orderId;
+
+        private Hold(Map<String, Integer> quantities, LocalDateTime expiresAt) {
+            this.quantities = quantities;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
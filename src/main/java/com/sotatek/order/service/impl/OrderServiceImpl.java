@@ -3,33 +3,75 @@ package com.sotatek.order.service.impl;
 import com.sotatek.order.client.MemberClient;
 import com.sotatek.order.client.PaymentClient;
 import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.AsyncPaymentProperties;
+import com.sotatek.order.config.ValidationProperties;
 import com.sotatek.order.exception.*;
 import com.sotatek.order.model.dto.external.MemberResponse;
 import com.sotatek.order.model.dto.external.PaymentRequest;
 import com.sotatek.order.model.dto.external.PaymentResponse;
 import com.sotatek.order.model.dto.external.ProductResponse;
 import com.sotatek.order.model.dto.external.ProductStockResponse;
+import com.sotatek.order.model.dto.request.BatchCancelOrderRequest;
+import com.sotatek.order.model.dto.request.BatchCreateOrderRequest;
 import com.sotatek.order.model.dto.request.CreateOrderRequest;
 import com.sotatek.order.model.dto.request.UpdateOrderRequest;
+import com.sotatek.order.model.dto.response.BatchCancelResponse;
+import com.sotatek.order.model.dto.response.BatchCancelResult;
+import com.sotatek.order.model.dto.response.BatchOrderResponse;
+import com.sotatek.order.model.dto.response.BatchOrderResult;
 import com.sotatek.order.model.dto.response.OrderItemResponse;
 import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.dto.response.OrderSliceResponse;
 import com.sotatek.order.model.entity.Order;
 import com.sotatek.order.model.entity.OrderItem;
+import com.sotatek.order.model.entity.PaymentTask;
+import com.sotatek.order.model.enums.OrderEventType;
 import com.sotatek.order.model.enums.OrderStatus;
+import com.sotatek.order.repository.OrderReadRepository;
 import com.sotatek.order.repository.OrderRepository;
+import com.sotatek.order.repository.PaymentTaskRepository;
+import com.sotatek.order.service.OrderCursor;
+import com.sotatek.order.service.OrderOutbox;
+import com.sotatek.order.service.OrderResponseCache;
 import com.sotatek.order.service.OrderService;
+import com.sotatek.order.service.StockReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.sotatek.order.model.enums.ExternalStatus;
 
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -37,40 +79,381 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    // Orders persisted per transaction in bulk creation; matches hibernate.jdbc.batch_size
+    private static final int BULK_CHUNK_SIZE = 50;
+
+    // Orders a member-wide bulk cancel applies to
+    private static final Set<OrderStatus> BULK_CANCELLABLE = EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+    // Orders a member-wide bulk cancel takes per request; same cap as an explicit id list
+    private static final int MEMBER_CANCEL_LIMIT = 500;
+
     private final OrderRepository orderRepository;
+    private final OrderReadRepository orderReadRepository;
+    private final PaymentTaskRepository paymentTaskRepository;
     private final MemberClient memberClient;
     private final ProductClient productClient;
     private final PaymentClient paymentClient;
-
+    @Qualifier("downstreamExecutor")
+    private final Executor downstreamExecutor;
+    private final ValidationProperties validationProperties;
+    private final AsyncPaymentProperties asyncPaymentProperties;
+    private final OrderResponseCache orderResponseCache;
+    private final OrderOutbox orderOutbox;
+    private final StockReservationService stockReservationService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * No transaction spans the whole flow: the order is stored PENDING in one short
+     * transaction, the payment call runs without a connection held, and the outcome
+     * is applied in a second short transaction. The PENDING order is stored with a
+     * payment task due after the recovery delay, so if this thread dies between the
+     * steps the payment worker finishes the order. The task is stored as already
+     * charge-requested: the worker holds the order for reconciliation instead of
+     * paying a second time.
+     */
     @Override
-    @Transactional(timeout = 10) // Issue 9: Prevent forever locks
     @SuppressWarnings("null")
     public OrderResponse createOrder(@NonNull CreateOrderRequest request) {
         log.info("Creating order for member: {}", request.getMemberId());
 
-        // 1. Validate Member (Issue 2: Defensive Coding, Issue 4: Magic Strings)
-        validateMember(request.getMemberId());
+        // 1. Validate member and products, calculate total, reserve stock
+        ReservedOrder reserved = validateAndAssemble(request);
+        Order order = reserved.order();
+
+        // 2. Store PENDING order with its recovery task
+        LocalDateTime recoverAt = LocalDateTime.now().plus(asyncPaymentProperties.getRecoveryDelay());
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> persistPending(order, reserved.hold(), recoverAt, true));
+        } catch (RuntimeException e) {
+            stockReservationService.release(reserved.hold());
+            throw e;
+        }
+
+        // 3. Call payment outside any transaction, bounded by the payment bulkhead and time
+        // limit. Only a request that never reached the provider is left to the recovery task
+        PaymentResponse payment;
+        try {
+            payment = join(paymentClient.createPaymentAsync(paymentRequestFor(order)));
+        } catch (PaymentFailedException e) {
+            payment = rejected(order, e);
+        } catch (RuntimeException e) {
+            afterPaymentFailure(order.getId(), e);
+            throw e;
+        }
+
+        // 4. Confirm or mark PAYMENT_FAILED
+        Settlement settlement = transactionTemplate.execute(status -> settle(order.getId(), payment));
+        if (settlement.failure() != null) {
+            throw settlement.failure();
+        }
+        return settlement.order();
+    }
 
-        // 2. Validate Products and calculate total (Issue 8: Rounding)
-        Order order = buildOrderEntity(request);
+    @Override
+    @Transactional(timeout = 10)
+    public OrderResponse acceptOrder(@NonNull CreateOrderRequest request) {
+        log.info("Accepting order for member: {}", request.getMemberId());
+        ReservedOrder reserved = validateAndAssemble(request);
+        try {
+            return persistPending(reserved.order(), reserved.hold(), LocalDateTime.now(), false);
+        } catch (RuntimeException e) {
+            stockReservationService.release(reserved.hold());
+            throw e;
+        }
+    }
+
+    @Override
+    public void completePayment(@NonNull Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || order.getStatus() != OrderStatus.PENDING) {
+            // Cancelled meanwhile, or settled by an earlier attempt that lost its lease
+            transactionTemplate.executeWithoutResult(status -> paymentTaskRepository.deleteByOrderId(orderId));
+            return;
+        }
+
+        // The provider is not assumed to deduplicate by order id: flag the task before the
+        // call, so a later claim holds the order instead of charging again
+        paymentTaskRepository.markChargeRequested(orderId, true);
+
+        // No transaction during the call
+        PaymentResponse payment;
+        try {
+            payment = join(paymentClient.createPaymentAsync(paymentRequestFor(order)));
+        } catch (PaymentFailedException e) {
+            payment = rejected(order, e);
+        } catch (RuntimeException e) {
+            if (notCharged(e)) {
+                paymentTaskRepository.markChargeRequested(orderId, false);
+            }
+            throw e;
+        }
+        transactionTemplate.executeWithoutResult(status -> settle(orderId, payment));
+    }
+
+    @Override
+    @Transactional
+    public void failPayment(@NonNull Long orderId) {
+        orderRepository.findByIdWithLock(orderId)
+                .filter(order -> order.getStatus() == OrderStatus.PENDING)
+                .ifPresent(order -> {
+                    log.warn("Giving up on payment, marking order {} as PAYMENT_FAILED", orderId);
+                    order.setStatus(OrderStatus.PAYMENT_FAILED);
+                    stockReservationService.release(orderId);
+                    recordChange(order, OrderEventType.ORDER_PAYMENT_FAILED);
+                });
+        paymentTaskRepository.deleteByOrderId(orderId);
+    }
+
+    @Override
+    @Transactional
+    public void markPaymentUnknown(@NonNull Long orderId) {
+        orderRepository.findByIdWithLock(orderId)
+                .filter(order -> order.getStatus() == OrderStatus.PENDING)
+                .ifPresent(order -> {
+                    log.error("Payment outcome of order {} is unknown, holding it for reconciliation", orderId);
+                    order.setStatus(OrderStatus.PAYMENT_UNKNOWN);
+                    stockReservationService.holdForReconciliation(orderId);
+                    recordChange(order, OrderEventType.ORDER_PAYMENT_UNKNOWN);
+                });
+        paymentTaskRepository.deleteByOrderId(orderId);
+    }
+
+    /**
+     * Stores a new order as PENDING with its stock hold and a payment task due at
+     * {@code payAt}, in the caller's transaction, so every committed PENDING order
+     * has a task. {@code chargeRequested} when the caller sends the payment itself.
+     */
+    private OrderResponse persistPending(Order order, StockReservationService.Hold hold, LocalDateTime payAt,
+            boolean chargeRequested) {
         Order savedOrder = orderRepository.save(order);
+        stockReservationService.attach(hold, savedOrder.getId());
+        paymentTaskRepository.save(PaymentTask.builder()
+                .orderId(savedOrder.getId())
+                .chargeRequested(chargeRequested)
+                .availableAt(payAt)
+                .build());
+        return recordChange(savedOrder, OrderEventType.ORDER_CREATED);
+    }
+
+    /**
+     * Applies a payment outcome to a PENDING order under its row lock and removes its
+     * payment task. Runs in the caller's transaction. If the order was already settled
+     * (by the request thread or the worker, whichever came second) it is left as is.
+     */
+    private Settlement settle(Long orderId, PaymentResponse payment) {
+        // Lock so a concurrent cancel sees the payment outcome, not a stale PENDING
+        Order order = orderRepository.findByIdWithLock(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+        paymentTaskRepository.deleteByOrderId(orderId);
+        if (order.getStatus() != OrderStatus.PENDING) {
+            if (order.getStatus() == OrderStatus.CANCELLED && order.getPaymentTransactionId() == null
+                    && payment != null
+                    && ExternalStatus.Payment.COMPLETED.getValue().equals(payment.getStatus())) {
+                // Cancelled while the payment was in flight: record the charge and let the
+                // refund retry job return it
+                log.warn("Order {} was cancelled during payment, queueing refund", orderId);
+                order.setPaymentTransactionId(payment.getTransactionId());
+                order.setStatus(OrderStatus.CANCELLING);
+                return new Settlement(recordChange(order, OrderEventType.ORDER_REFUND_PENDING), null);
+            }
+            return new Settlement(mapToResponse(order), null);
+        }
 
-        // 3. Process Payment with compensation logic
         try {
-            processPayment(savedOrder);
+            applyPayment(order, payment);
         } catch (PaymentFailedException e) {
-            log.warn("Payment failed, marking order {} as PAYMENT_FAILED", savedOrder.getId());
-            savedOrder.setStatus(OrderStatus.PAYMENT_FAILED);
-            orderRepository.save(savedOrder);
+            log.warn("Payment failed, marking order {} as PAYMENT_FAILED", orderId);
+            order.setStatus(OrderStatus.PAYMENT_FAILED);
+            stockReservationService.release(orderId);
+            return new Settlement(recordChange(order, OrderEventType.ORDER_PAYMENT_FAILED), e);
+        }
+        stockReservationService.commit(orderId);
+        return new Settlement(recordChange(order, OrderEventType.ORDER_CONFIRMED), null);
+    }
+
+    private ReservedOrder validateAndAssemble(CreateOrderRequest request) {
+        // Start product/stock lookups, then validate member while they are in flight
+        ProductLookups lookups = startProductLookups(request);
+        try {
+            // Issue 2: Defensive Coding, Issue 4: Magic Strings
+            validateMember(request.getMemberId(), lookups.deadlineNanos());
+        } catch (RuntimeException e) {
+            // Member failure wins; stop waiting for the product lookups
+            lookups.cancel();
+            throw e;
+        }
+
+        // Validate Products and calculate total (Issue 8: Rounding)
+        return assembleOrder(request, lookups);
+    }
+
+    @Override
+    public BatchOrderResponse createOrders(@NonNull BatchCreateOrderRequest request) {
+        List<CreateOrderRequest> requests = request.getOrders();
+        log.info("Creating {} orders in bulk", requests.size());
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+
+        // 1. One lookup per distinct member; the product client batches the distinct product ids
+        long deadlineNanos = System.nanoTime() + validationProperties.getTimeout().toNanos();
+        Map<String, CompletableFuture<MemberResponse>> members = new HashMap<>();
+        Set<String> productIds = new LinkedHashSet<>();
+        for (CreateOrderRequest orderRequest : requests) {
+            members.computeIfAbsent(orderRequest.getMemberId(), memberClient::getMemberAsync);
+            orderRequest.getItems().forEach(item -> productIds.add(item.getProductId()));
+        }
+        CompletableFuture<Map<String, ProductResponse>> products = productClient.getProductsAsync(productIds);
+        CompletableFuture<Map<String, ProductStockResponse>> stocks = productClient.getStocksAsync(productIds);
+
+        // 2. Validate in request order so earlier orders reserve shared stock first
+        List<BulkOrder> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest orderRequest = requests.get(i);
+            try {
+                String memberId = orderRequest.getMemberId();
+                checkMember(memberId, awaitDownstream(members.get(memberId), deadlineNanos));
+                ReservedOrder reserved = assembleBulkOrder(orderRequest, awaitDownstream(products, deadlineNanos),
+                        awaitDownstream(stocks, deadlineNanos));
+                accepted.add(new BulkOrder(i, reserved.order(), reserved.hold()));
+            } catch (RuntimeException e) {
+                results[i] = failedResult(i, e);
+            }
+        }
+
+        // 3. Persist and pay in chunks. A chunk is stored in one transaction, so a failed
+        // insert fails the whole chunk before any payment; payments and settlements are per order
+        for (int from = 0; from < accepted.size(); from += BULK_CHUNK_SIZE) {
+            List<BulkOrder> chunk = accepted.subList(from, Math.min(from + BULK_CHUNK_SIZE, accepted.size()));
+            try {
+                persistAndPay(chunk, results);
+            } catch (RuntimeException e) {
+                log.error("Bulk order chunk of {} orders rolled back before payment", chunk.size(), e);
+                chunk.forEach(bulkOrder -> results[bulkOrder.index()] = failedResult(bulkOrder.index(), e));
+            }
+        }
+
+        int succeeded = (int) Arrays.stream(results).filter(BatchOrderResult::isSuccess).count();
+        log.info("Bulk order creation finished: {} succeeded, {} failed", succeeded, results.length - succeeded);
+        return BatchOrderResponse.builder()
+                .results(List.of(results))
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .build();
+    }
+
+    /**
+     * Same steps as {@link #createOrder}, one chunk at a time: store the chunk PENDING,
+     * pay each order in parallel outside the transaction, then settle each order in its
+     * own transaction. Only a failure to store the chunk is thrown.
+     */
+    @SuppressWarnings("null")
+    private void persistAndPay(List<BulkOrder> chunk, BatchOrderResult[] results) {
+        LocalDateTime recoverAt = LocalDateTime.now().plus(asyncPaymentProperties.getRecoveryDelay());
+        try {
+            transactionTemplate.executeWithoutResult(status -> chunk
+                    .forEach(bulkOrder -> persistPending(bulkOrder.order(), bulkOrder.hold(), recoverAt, true)));
+        } catch (RuntimeException e) {
+            chunk.forEach(bulkOrder -> stockReservationService.release(bulkOrder.hold()));
             throw e;
         }
 
-        return mapToResponse(savedOrder);
+        List<CompletableFuture<PaymentResponse>> payments = chunk.stream()
+                .map(bulkOrder -> paymentClient.createPaymentAsync(paymentRequestFor(bulkOrder.order())))
+                .toList();
+
+        Map<BulkOrder, PaymentResponse> paid = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkOrder bulkOrder = chunk.get(i);
+            try {
+                paid.put(bulkOrder, join(payments.get(i)));
+            } catch (PaymentFailedException e) {
+                paid.put(bulkOrder, rejected(bulkOrder.order(), e));
+            } catch (RuntimeException e) {
+                afterPaymentFailure(bulkOrder.order().getId(), e);
+                results[bulkOrder.index()] = failedResult(bulkOrder.index(), e);
+            }
+        }
+
+        // One transaction per order, so a conflict on one order does not undo the others
+        paid.forEach((bulkOrder, payment) -> {
+            int index = bulkOrder.index();
+            Long orderId = bulkOrder.order().getId();
+            Settlement settlement;
+            try {
+                settlement = transactionTemplate.execute(status -> settle(orderId, payment));
+            } catch (RuntimeException e) {
+                // The order keeps its charge-requested task, so the payment worker holds it
+                log.error("Could not settle bulk order {} after payment", orderId, e);
+                results[index] = failedResult(index, e);
+                return;
+            }
+            results[index] = settlement.failure() != null
+                    ? failedResult(index, settlement.failure())
+                    : BatchOrderResult.builder()
+                            .index(index)
+                            .success(true)
+                            .order(settlement.order())
+                            .build();
+        });
+    }
+
+    /**
+     * After a failed payment call on the request thread: an order that was not charged
+     * is left PENDING for its recovery task, any other is held for reconciliation.
+     */
+    private void afterPaymentFailure(Long orderId, RuntimeException e) {
+        try {
+            if (notCharged(e)) {
+                paymentTaskRepository.markChargeRequested(orderId, false);
+            } else {
+                transactionTemplate.executeWithoutResult(status -> markPaymentUnknown(orderId));
+            }
+        } catch (RuntimeException suppressed) {
+            // The task keeps its flag, so the recovery task holds the order rather than paying
+            log.error("Could not record the failed payment of order {}", orderId, suppressed);
+        }
+    }
+
+    // The payment request never reached the provider, or was refused before processing
+    private static boolean notCharged(RuntimeException e) {
+        return e instanceof ServiceUnavailableException && !(e instanceof PaymentOutcomeUnknownException);
+    }
+
+    /**
+     * A payment the payment service refused outright (e.g. invalid), settled like a
+     * declined one: the order becomes PAYMENT_FAILED instead of being retried.
+     */
+    private static PaymentResponse rejected(Order order, PaymentFailedException e) {
+        log.warn("Payment for order {} was rejected: {}", order.getId(), e.getMessage());
+        return PaymentResponse.builder()
+                .orderId(order.getId())
+                .amount(order.getTotalAmount())
+                .status(ExternalStatus.Payment.FAILED.getValue())
+                .build();
+    }
+
+    private BatchOrderResult failedResult(int index, RuntimeException e) {
+        ErrorCode errorCode = ErrorCode.from(e);
+        String message = e.getMessage();
+        if (errorCode == ErrorCode.INTERNAL_ERROR) {
+            log.error("Bulk order {} failed unexpectedly", index, e);
+            message = "An unexpected error occurred";
+        }
+        return BatchOrderResult.builder()
+                .index(index)
+                .success(false)
+                .error(errorCode.name())
+                .message(message)
+                .build();
+    }
+
+    private void validateMember(String memberId, long deadlineNanos) {
+        checkMember(memberId, awaitDownstream(memberClient.getMemberAsync(memberId), deadlineNanos));
     }
 
     @SuppressWarnings("null")
-    private void validateMember(String memberId) {
-        MemberResponse member = memberClient.getMember(memberId);
+    private void checkMember(String memberId, MemberResponse member) {
         if (member == null) {
             throw new MemberNotFoundException("Member service returned null for id: " + memberId);
         }
@@ -79,60 +462,131 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    /**
+     * Fires product and stock lookups for every distinct product in parallel.
+     * Results are consumed in request order by {@link #assembleOrder}.
+     */
+    private ProductLookups startProductLookups(CreateOrderRequest request) {
+        long deadlineNanos = System.nanoTime() + validationProperties.getTimeout().toNanos();
+        Map<String, CompletableFuture<ProductResponse>> products = new LinkedHashMap<>();
+        Map<String, CompletableFuture<ProductStockResponse>> stocks = new LinkedHashMap<>();
+
+        for (var itemRequest : request.getItems()) {
+            String productId = itemRequest.getProductId();
+            products.computeIfAbsent(productId, productClient::getProductAsync);
+            stocks.computeIfAbsent(productId, productClient::getStockAsync);
+        }
+        return new ProductLookups(products, stocks, deadlineNanos);
+    }
+
     @SuppressWarnings("null")
-    private Order buildOrderEntity(CreateOrderRequest request) {
+    private ReservedOrder assembleOrder(CreateOrderRequest request, ProductLookups lookups) {
         BigDecimal totalAmount = BigDecimal.ZERO;
-        Order order = Order.builder()
-                .memberId(request.getMemberId())
-                .paymentMethod(request.getPaymentMethod())
-                .status(OrderStatus.PENDING)
-                .build();
+        Order order = newPendingOrder(request);
+        Map<String, Integer> availableStock = new HashMap<>();
+
+        try {
+            // Walk items in request order so the first business failure is deterministic
+            for (var itemRequest : request.getItems()) {
+                String productId = itemRequest.getProductId();
+                ProductResponse product = lookups.awaitProduct(productId);
+
+                if (product == null) {
+                    throw new ProductNotFoundException("Product service returned null for id: " + productId);
+                }
+                if (!ExternalStatus.Product.AVAILABLE.getValue().equals(product.getStatus())) {
+                    throw new ProductUnavailableException("Product is not available: " + productId);
+                }
+
+                ProductStockResponse stock = lookups.awaitStock(productId);
+                if (stock == null || stock.getAvailableQuantity() < itemRequest.getQuantity()) {
+                    throw new InsufficientStockException("Insufficient stock for product: " + productId);
+                }
+                availableStock.put(productId, stock.getAvailableQuantity());
+
+                OrderItem orderItem = toOrderItem(productId, product, itemRequest.getQuantity());
+                order.addItem(orderItem);
+                totalAmount = totalAmount.add(orderItem.getSubtotal());
+            }
+        } catch (RuntimeException e) {
+            lookups.cancel();
+            throw e;
+        }
+        order.setTotalAmount(totalAmount.setScale(2, RoundingMode.HALF_UP));
+        return new ReservedOrder(order, stockReservationService.reserve(order, availableStock));
+    }
+
+    /**
+     * Like {@link #assembleOrder} but against batch lookup results. Stock held by
+     * earlier orders in the batch is already in the reservation ledger, and is only
+     * reserved once the whole order is valid.
+     */
+    @SuppressWarnings("null")
+    private ReservedOrder assembleBulkOrder(CreateOrderRequest request, Map<String, ProductResponse> products,
+            Map<String, ProductStockResponse> stocks) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        Order order = newPendingOrder(request);
+        Map<String, Integer> availableStock = new HashMap<>();
 
         for (var itemRequest : request.getItems()) {
             String productId = itemRequest.getProductId();
-            ProductResponse product = productClient.getProduct(productId);
+            ProductResponse product = products.get(productId);
 
             if (product == null) {
-                throw new ProductNotFoundException("Product service returned null for id: " + productId);
+                throw new ProductNotFoundException("Product not found: " + productId);
             }
             if (!ExternalStatus.Product.AVAILABLE.getValue().equals(product.getStatus())) {
                 throw new ProductUnavailableException("Product is not available: " + productId);
             }
 
-            ProductStockResponse stock = productClient.getStock(productId);
-            if (stock == null || stock.getAvailableQuantity() < itemRequest.getQuantity()) {
-                throw new InsufficientStockException("Insufficient stock for product: " + productId);
-            }
-
-            BigDecimal subtotal = product.getPrice()
-                    .multiply(BigDecimal.valueOf(itemRequest.getQuantity()))
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            OrderItem orderItem = OrderItem.builder()
-                    .productId(productId)
-                    .productName(product.getName())
-                    .quantity(itemRequest.getQuantity())
-                    .unitPrice(product.getPrice().setScale(2, RoundingMode.HALF_UP))
-                    .subtotal(subtotal)
-                    .build();
+            ProductStockResponse stock = stocks.get(productId);
+            availableStock.put(productId, stock == null ? 0 : stock.getAvailableQuantity());
 
+            OrderItem orderItem = toOrderItem(productId, product, itemRequest.getQuantity());
             order.addItem(orderItem);
-            totalAmount = totalAmount.add(subtotal);
+            totalAmount = totalAmount.add(orderItem.getSubtotal());
         }
+
         order.setTotalAmount(totalAmount.setScale(2, RoundingMode.HALF_UP));
-        return order;
+        return new ReservedOrder(order, stockReservationService.reserve(order, availableStock));
     }
 
-    @SuppressWarnings("null")
-    private void processPayment(Order order) {
-        PaymentRequest paymentRequest = PaymentRequest.builder()
+    private Order newPendingOrder(CreateOrderRequest request) {
+        return Order.builder()
+                .memberId(request.getMemberId())
+                .paymentMethod(request.getPaymentMethod())
+                .status(OrderStatus.PENDING)
+                .build();
+    }
+
+    private OrderItem toOrderItem(String productId, ProductResponse product, int quantity) {
+        if (product.isStale()) {
+            log.warn("Product service unavailable, pricing product {} from data {} old", productId,
+                    product.getStaleness());
+        }
+        BigDecimal subtotal = product.getPrice()
+                .multiply(BigDecimal.valueOf(quantity))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        return OrderItem.builder()
+                .productId(productId)
+                .productName(product.getName())
+                .quantity(quantity)
+                .unitPrice(product.getPrice().setScale(2, RoundingMode.HALF_UP))
+                .subtotal(subtotal)
+                .build();
+    }
+
+    private PaymentRequest paymentRequestFor(Order order) {
+        return PaymentRequest.builder()
                 .orderId(order.getId())
                 .amount(order.getTotalAmount())
                 .paymentMethod(order.getPaymentMethod())
                 .build();
+    }
 
-        PaymentResponse paymentResponse = paymentClient.createPayment(paymentRequest);
-
+    @SuppressWarnings("null")
+    private void applyPayment(Order order, PaymentResponse paymentResponse) {
         if (paymentResponse == null) {
             throw new PaymentFailedException("Payment service returned null for order: " + order.getId());
         }
@@ -152,60 +606,325 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public OrderResponse getOrder(@NonNull Long id) {
-        Order order = orderRepository.findById(id)
+        // No transaction here: cache hits should not borrow a connection
+        return orderResponseCache.get(id, () -> orderReadRepository.findById(id))
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
-        return mapToResponse(order);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderResponse> listOrders(@NonNull Pageable pageable) {
-        return orderRepository.findAll(pageable).map(this::mapToResponse);
+        // Page of ids (with count), then one projection query for the orders and their items
+        Page<Long> orderIds = orderRepository.findIds(pageable);
+        List<OrderResponse> content = orderReadRepository.findAllByIds(orderIds.getContent());
+        return new PageImpl<>(content, orderIds.getPageable(), orderIds.getTotalElements());
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public OrderSliceResponse listOrdersByCursor(@Nullable String cursor, int size) {
+        // Fetch one extra id to learn whether another slice exists
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Long> orderIds;
+        if (cursor == null || cursor.isBlank()) {
+            orderIds = orderRepository.findNewestIds(limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orderIds = orderRepository.findNewestIdsAfter(position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = orderIds.size() > size;
+        List<OrderResponse> slice = orderReadRepository.findAllByIds(hasNext ? orderIds.subList(0, size) : orderIds);
+
+        String nextCursor = null;
+        if (hasNext && !slice.isEmpty()) {
+            OrderResponse last = slice.get(slice.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return OrderSliceResponse.builder()
+                .content(slice)
+                .size(slice.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Cancels without holding a lock across the refund call. A short transaction moves
+     * the order to CANCELLED, or to CANCELLING when a refund is due, guarded by the
+     * optimistic version check. The refund then runs outside any transaction and a
+     * second short transaction finalizes it. A refund that does not complete leaves
+     * the order CANCELLING for the refund retry job.
+     */
+    @Override
     @SuppressWarnings("null")
     public OrderResponse cancelOrder(@NonNull Long id, @NonNull UpdateOrderRequest request) {
-        // Use pessimistic lock to prevent concurrent modifications during refund
-        Order order = orderRepository.findByIdWithLock(id)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
+        CancelStart start = transactionTemplate.execute(status -> startCancellation(id, request));
+        if (start.paymentTransactionId() == null) {
+            return start.order();
+        }
+        return refundAndFinalize(id, start.paymentTransactionId(), start.amount()).orElse(start.order());
+    }
 
-        if (order.getStatus() == OrderStatus.CANCELLED) {
-            throw new InvalidOrderStatusException("Cannot update status of a CANCELLED order");
+    @Override
+    public void completeCancellation(@NonNull Long orderId) {
+        orderRepository.findById(orderId)
+                .filter(order -> order.getStatus() == OrderStatus.CANCELLING)
+                .ifPresent(order -> refundAndFinalize(orderId, order.getPaymentTransactionId(),
+                        order.getTotalAmount()));
+    }
+
+    @Override
+    @Transactional
+    public void failRefund(@NonNull Long orderId) {
+        orderRepository.findByIdWithLock(orderId)
+                .filter(order -> order.getStatus() == OrderStatus.CANCELLING)
+                .ifPresent(order -> {
+                    log.error("Giving up on the refund of order {} after {} retries, holding it for review",
+                            orderId, order.getRefundAttempts());
+                    order.setStatus(OrderStatus.REFUND_FAILED);
+                    recordChange(order, OrderEventType.ORDER_REFUND_FAILED);
+                });
+    }
+
+    @Override
+    @SuppressWarnings("null")
+    public BatchCancelResponse cancelOrders(@NonNull BatchCancelOrderRequest request) {
+        List<Long> ids;
+        boolean hasMore = false;
+        if (request.getMemberId() != null && !request.getMemberId().isBlank()) {
+            // Fetch one extra id to learn whether the member has more open orders
+            ids = orderRepository.findIdsByMemberIdAndStatusIn(request.getMemberId(), BULK_CANCELLABLE,
+                    PageRequest.of(0, MEMBER_CANCEL_LIMIT + 1));
+            hasMore = ids.size() > MEMBER_CANCEL_LIMIT;
+            if (hasMore) {
+                ids = ids.subList(0, MEMBER_CANCEL_LIMIT);
+            }
+        } else {
+            ids = request.getOrderIds().stream().distinct().toList();
+        }
+        log.info("Cancelling {} orders in bulk", ids.size());
+        Map<Long, BatchCancelResult> results = new HashMap<>();
+
+        // Same two phases as cancelOrder, a chunk at a time: lock and update the chunk
+        // in one short transaction, then refund its confirmed orders in parallel
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            Map<Long, CancelStart> refunds;
+            try {
+                refunds = transactionTemplate.execute(status -> startCancellations(chunk, results));
+            } catch (RuntimeException e) {
+                log.error("Bulk cancel chunk of {} orders rolled back", chunk.size(), e);
+                chunk.forEach(id -> results.put(id, failedCancel(id, e)));
+                continue;
+            }
+            refundAll(refunds, results);
+        }
+
+        List<BatchCancelResult> ordered = ids.stream().map(results::get).toList();
+        int succeeded = (int) ordered.stream().filter(BatchCancelResult::isSuccess).count();
+        log.info("Bulk cancel finished: {} succeeded, {} failed", succeeded, ordered.size() - succeeded);
+        return BatchCancelResponse.builder()
+                .results(ordered)
+                .succeeded(succeeded)
+                .failed(ordered.size() - succeeded)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Locks the chunk with one query and starts each cancellation. Returns the
+     * orders that now wait for a refund; the others get their result directly.
+     */
+    private Map<Long, CancelStart> startCancellations(List<Long> ids, Map<Long, BatchCancelResult> results) {
+        Map<Long, Order> orders = orderRepository.findAllByIdWithLock(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        orderRepository.fetchItems(orders.keySet());
+
+        Map<Long, CancelStart> refunds = new LinkedHashMap<>();
+        for (Long id : ids) {
+            try {
+                Order order = orders.get(id);
+                if (order == null) {
+                    throw new OrderNotFoundException("Order not found with id: " + id);
+                }
+                checkCancellable(order);
+                CancelStart start = beginCancellation(order);
+                if (start.paymentTransactionId() != null) {
+                    refunds.put(id, start);
+                } else {
+                    results.put(id, cancelledResult(id, start.order()));
+                }
+            } catch (OrderNotFoundException | InvalidOrderStatusException e) {
+                results.put(id, failedCancel(id, e));
+            }
         }
+        return refunds;
+    }
 
+    private void refundAll(Map<Long, CancelStart> refunds, Map<Long, BatchCancelResult> results) {
+        Map<Long, CompletableFuture<Optional<OrderResponse>>> pending = new LinkedHashMap<>();
+        refunds.forEach((id, start) -> pending.put(id, CompletableFuture.supplyAsync(
+                () -> refundAndFinalize(id, start.paymentTransactionId(), start.amount()), downstreamExecutor)));
+
+        pending.forEach((id, refund) -> {
+            OrderResponse order = refunds.get(id).order();
+            try {
+                order = join(refund).orElse(order);
+            } catch (RuntimeException e) {
+                // Stays CANCELLING; the refund retry job finishes it
+                log.warn("Refund for order {} did not finalize: {}", id, e.getMessage());
+            }
+            results.put(id, cancelledResult(id, order));
+        });
+    }
+
+    private static BatchCancelResult cancelledResult(Long orderId, OrderResponse order) {
+        return BatchCancelResult.builder()
+                .orderId(orderId)
+                .success(true)
+                .order(order)
+                .build();
+    }
+
+    private BatchCancelResult failedCancel(Long orderId, RuntimeException e) {
+        ErrorCode errorCode = ErrorCode.from(e);
+        String message = e.getMessage();
+        if (errorCode == ErrorCode.INTERNAL_ERROR) {
+            log.error("Bulk cancel of order {} failed unexpectedly", orderId, e);
+            message = "An unexpected error occurred";
+        }
+        return BatchCancelResult.builder()
+                .orderId(orderId)
+                .success(false)
+                .error(errorCode.name())
+                .message(message)
+                .build();
+    }
+
+    private CancelStart startCancellation(Long id, UpdateOrderRequest request) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
+
+        checkCancellable(order);
         if (request.getStatus() != OrderStatus.CANCELLED) {
             throw new InvalidOrderStatusException("Only CANCELLED status is allowed for this endpoint");
         }
+        return beginCancellation(order);
+    }
+
+    private static void checkCancellable(Order order) {
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            throw new InvalidOrderStatusException("Cannot update status of a CANCELLED order");
+        }
+        if (order.getStatus() == OrderStatus.CANCELLING) {
+            throw new InvalidOrderStatusException("Order is already being cancelled");
+        }
+        if (order.getStatus() == OrderStatus.PAYMENT_UNKNOWN) {
+            // It may have been charged; cancelling without a refund could lose the money
+            throw new InvalidOrderStatusException("Order payment is awaiting reconciliation");
+        }
+        if (order.getStatus() == OrderStatus.REFUND_FAILED) {
+            throw new InvalidOrderStatusException("Order is cancelled; its refund is awaiting review");
+        }
+    }
 
+    /**
+     * Moves a cancellable order to CANCELLED, or to CANCELLING when its payment must
+     * be refunded first. Runs inside the caller's transaction.
+     */
+    private CancelStart beginCancellation(Order order) {
+        Long id = order.getId();
         log.info("Cancelling order {}", id);
+        // Returns the stock still held for the order, paid or not
+        stockReservationService.release(id);
 
         // Phase 8: Refund confirmed order with idempotency check (Issue 4)
         if (order.getStatus() == OrderStatus.CONFIRMED && order.getPaymentTransactionId() != null) {
             if (order.getRefundTransactionId() != null) {
                 log.info("Order {} already has a refund transaction: {}", id, order.getRefundTransactionId());
             } else {
-                log.info("Triggering refund for order {}, transaction {}", id, order.getPaymentTransactionId());
-                PaymentResponse refundResponse = paymentClient.refundPayment(order.getPaymentTransactionId(),
-                        order.getTotalAmount());
-
-                if (refundResponse != null
-                        && ExternalStatus.Payment.REFUNDED.getValue().equals(refundResponse.getStatus())) {
-                    order.setRefundTransactionId(refundResponse.getTransactionId());
-                } else {
-                    log.warn("Refund process returned non-success status for order {}: {}", id,
-                            refundResponse != null ? refundResponse.getStatus() : "null");
-                }
+                // Version check on commit: a concurrent change fails fast instead of queueing on a lock
+                order.setStatus(OrderStatus.CANCELLING);
+                OrderResponse response = recordChange(orderRepository.save(order), OrderEventType.ORDER_CANCELLED);
+                return new CancelStart(response, order.getPaymentTransactionId(), order.getTotalAmount());
             }
         }
 
         order.setStatus(OrderStatus.CANCELLED);
         Order updatedOrder = orderRepository.save(order);
+        return new CancelStart(recordChange(updatedOrder, OrderEventType.ORDER_CANCELLED), null, null);
+    }
+
+    /**
+     * Refunds a CANCELLING order outside any transaction, then marks it CANCELLED.
+     * Returns empty if the refund did not complete or another thread finalized first.
+     */
+    private Optional<OrderResponse> refundAndFinalize(Long orderId, String paymentTransactionId, BigDecimal amount) {
+        log.info("Triggering refund for order {}, transaction {}", orderId, paymentTransactionId);
+        PaymentResponse refundResponse;
+        try {
+            refundResponse = join(paymentClient.refundPaymentAsync(paymentTransactionId, amount));
+        } catch (RuntimeException e) {
+            log.warn("Refund for order {} failed, left CANCELLING for retry: {}", orderId, e.getMessage());
+            return Optional.empty();
+        }
+
+        if (refundResponse == null
+                || !ExternalStatus.Payment.REFUNDED.getValue().equals(refundResponse.getStatus())) {
+            log.warn("Refund process returned non-success status for order {}: {}", orderId,
+                    refundResponse != null ? refundResponse.getStatus() : "null");
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.ofNullable(transactionTemplate.execute(status -> {
+                Order order = orderRepository.findById(orderId)
+                        .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+                if (order.getStatus() != OrderStatus.CANCELLING) {
+                    return mapToResponse(order);
+                }
+                order.setRefundTransactionId(refundResponse.getTransactionId());
+                order.setStatus(OrderStatus.CANCELLED);
+                return recordChange(orderRepository.save(order), OrderEventType.ORDER_REFUNDED);
+            }));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.info("Order {} was finalized concurrently", orderId);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Publishes a change to the order: outbox events in the current transaction,
+     * cache update after commit.
+     */
+    private OrderResponse recordChange(Order order, OrderEventType... events) {
+        OrderResponse response = mapToResponse(order);
+        for (OrderEventType event : events) {
+            orderOutbox.record(event, response);
+        }
+        cacheAfterCommit(order, response);
+        return response;
+    }
 
-        return mapToResponse(updatedOrder);
+    /**
+     * Evicts the cached order now and stores the new state once the transaction commits,
+     * so readers never see an uncommitted status. The version is read after commit
+     * because it is only incremented on flush.
+     */
+    private void cacheAfterCommit(Order order, OrderResponse response) {
+        orderResponseCache.evict(order.getId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orderResponseCache.put(response.toBuilder().version(order.getVersion()).build());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderResponseCache.put(response.toBuilder().version(order.getVersion()).build());
+            }
+        });
     }
 
     private OrderResponse mapToResponse(Order order) {
@@ -228,6 +947,68 @@ public class OrderServiceImpl implements OrderService {
                 .paymentMethod(order.getPaymentMethod())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
+                .version(order.getVersion())
                 .build();
     }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            // e.g. the TimeoutException of a time-limited client call, which may have been processed
+            throw new PaymentOutcomeUnknownException("Payment call failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private static <T> T awaitDownstream(CompletableFuture<T> future, long deadlineNanos) {
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // Surface business exceptions (not found, unavailable) as thrown by the client
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceUnavailableException("Downstream lookup failed: " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Order validation timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Order validation interrupted");
+        }
+    }
+
+    private record ReservedOrder(Order order, StockReservationService.Hold hold) {
+    }
+
+    private record BulkOrder(int index, Order order, StockReservationService.Hold hold) {
+    }
+
+    private record CancelStart(OrderResponse order, @Nullable String paymentTransactionId,
+            @Nullable BigDecimal amount) {
+    }
+
+    private record Settlement(OrderResponse order, @Nullable PaymentFailedException failure) {
+    }
+
+    private record ProductLookups(Map<String, CompletableFuture<ProductResponse>> products,
+            Map<String, CompletableFuture<ProductStockResponse>> stocks,
+            long deadlineNanos) {
+
+        ProductResponse awaitProduct(String productId) {
+            return awaitDownstream(products.get(productId), deadlineNanos);
+        }
+
+        ProductStockResponse awaitStock(String productId) {
+            return awaitDownstream(stocks.get(productId), deadlineNanos);
+        }
+
+        void cancel() {
+            products.values().forEach(future -> future.cancel(false));
+            stocks.values().forEach(future -> future.cancel(false));
+        }
+    }
 }
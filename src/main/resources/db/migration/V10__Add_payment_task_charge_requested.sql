@@ -0,0 +1,6 @@
+-- V10__Add_payment_task_charge_requested.sql
+-- Set before a payment request may be sent and cleared only when the request is
+-- known not to have reached the provider. A task claimed with the flag set is
+-- not paid again: its order is held for reconciliation.
+
+ALTER TABLE payment_tasks ADD COLUMN charge_requested BOOLEAN NOT NULL DEFAULT FALSE;
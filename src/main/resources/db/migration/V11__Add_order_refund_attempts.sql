@@ -0,0 +1,5 @@
+-- V11__Add_order_refund_attempts.sql
+-- Refund retries of a CANCELLING order; once the cap is reached the order is
+-- parked as REFUND_FAILED for review.
+
+ALTER TABLE orders ADD COLUMN refund_attempts INTEGER NOT NULL DEFAULT 0;
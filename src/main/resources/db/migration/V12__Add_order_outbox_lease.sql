@@ -0,0 +1,6 @@
+-- V12__Add_order_outbox_lease.sql
+-- Relay instances lease a batch before publishing it, so two instances do not
+-- publish the same rows. A lease that runs out is taken over by another relay.
+
+ALTER TABLE order_outbox ADD COLUMN locked_by VARCHAR(36);
+ALTER TABLE order_outbox ADD COLUMN locked_until TIMESTAMP;
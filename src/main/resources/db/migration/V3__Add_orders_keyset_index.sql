@@ -0,0 +1,4 @@
+-- V3__Add_orders_keyset_index.sql
+-- Supports cursor (keyset) pagination ordered by (created_at, id), newest first
+
+CREATE INDEX idx_orders_created_at_id ON orders(created_at DESC, id DESC);
@@ -0,0 +1,12 @@
+-- V4__Add_order_id_sequences.sql
+-- Sequence-backed ids let Hibernate pre-allocate ids and batch inserts.
+-- INCREMENT BY must match allocationSize on Order and OrderItem.
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+
+-- Rows inserted under AUTO_INCREMENT already use low ids. Hibernate's pooled
+-- optimizer hands out the allocationSize ids ending at each value it reads, so
+-- the first value must lie a full block above the highest existing id.
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM orders);
+ALTER SEQUENCE order_items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM order_items);
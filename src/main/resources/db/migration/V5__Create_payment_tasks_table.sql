@@ -0,0 +1,19 @@
+-- V5__Create_payment_tasks_table.sql
+-- Durable queue of orders accepted asynchronously and still waiting for payment.
+
+CREATE SEQUENCE payment_tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE payment_tasks (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_payment_tasks_order_id UNIQUE (order_id),
+    CONSTRAINT fk_payment_tasks_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_payment_tasks_status_available_at ON payment_tasks(status, available_at);
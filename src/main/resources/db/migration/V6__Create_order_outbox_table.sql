@@ -0,0 +1,17 @@
+-- V6__Create_order_outbox_table.sql
+-- Order lifecycle events, written in the same transaction as the order change
+-- and published by the outbox relay.
+
+CREATE SEQUENCE order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_outbox (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload CLOB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    delivered_at TIMESTAMP
+);
+
+-- Relay scans undelivered rows by id
+CREATE INDEX idx_order_outbox_delivered_at_id ON order_outbox(delivered_at, id);
@@ -0,0 +1,16 @@
+-- V7__Create_idempotency_keys_table.sql
+-- Idempotency-Key outcomes shared by all instances. The primary key is the
+-- cross-node claim: only one instance can insert the IN_PROGRESS row for a key.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    error_code VARCHAR(50),
+    response CLOB,
+    locked_until TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Purge job scans expired keys
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
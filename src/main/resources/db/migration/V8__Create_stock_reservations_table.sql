@@ -0,0 +1,18 @@
+-- V8__Create_stock_reservations_table.sql
+-- Stock held by orders that are not paid yet, one row per product line.
+-- Mirrors the in-memory reservation ledger so it can be rebuilt after a restart.
+
+CREATE SEQUENCE stock_reservations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_reservations (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_stock_reservations_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_stock_reservations_order_id ON stock_reservations(order_id);
+CREATE INDEX idx_stock_reservations_expires_at ON stock_reservations(expires_at);
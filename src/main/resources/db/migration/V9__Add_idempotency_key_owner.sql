@@ -0,0 +1,5 @@
+-- V9__Add_idempotency_key_owner.sql
+-- Fencing token of the claim: only the instance that holds the key may renew,
+-- complete or release it. A takeover writes a new owner.
+
+ALTER TABLE idempotency_keys ADD COLUMN owner VARCHAR(36);
@@ -0,0 +1,141 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.ProductBatchingProperties;
+import com.sotatek.order.exception.ProductNotFoundException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * The window is far longer than any test, so batches are only dispatched when
+ * the test flushes them or when they reach the maximum size.
+ */
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "unchecked" })
+class BatchingProductClientTest {
+
+    @Mock
+    private ProductClient delegate;
+
+    private BatchingProductClient client;
+
+    @BeforeEach
+    void setUp() {
+        ProductBatchingProperties properties = new ProductBatchingProperties();
+        properties.setWindow(Duration.ofHours(1));
+        properties.setMaxBatchSize(5);
+        client = new BatchingProductClient(delegate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void lookupsWithinWindow_AreCoalescedIntoOneBatchCall() {
+        when(delegate.getProductsAsync(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(ids.stream().collect(Collectors.toMap(id -> id, this::product)));
+        });
+
+        List<CompletableFuture<ProductResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(client.getProductAsync("P00" + (i % 3))); // hot SKUs requested repeatedly
+        }
+        verify(delegate, never()).getProductsAsync(anyCollection());
+
+        client.flush();
+
+        results.forEach(result -> assertNotNull(result.join()));
+        verify(delegate, times(1)).getProductsAsync(Set.of("P000", "P001", "P002"));
+        verify(delegate, never()).getProduct(anyString());
+        verify(delegate, never()).getProductAsync(anyString());
+    }
+
+    @Test
+    void fullBatch_DispatchedWithoutWaitingForWindow() {
+        when(delegate.getProductsAsync(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(ids.stream().collect(Collectors.toMap(id -> id, this::product)));
+        });
+
+        List<CompletableFuture<ProductResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(client.getProductAsync("P00" + i));
+        }
+
+        results.forEach(result -> assertNotNull(result.join()));
+        verify(delegate, times(1)).getProductsAsync(anyCollection());
+    }
+
+    @Test
+    void bulkLookup_SplitIntoMaxSizeBatchesAndMerged() {
+        when(delegate.getProductsAsync(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(ids.stream()
+                    .filter(id -> !id.equals("P011"))
+                    .collect(Collectors.toMap(id -> id, this::product)));
+        });
+        List<String> ids = IntStream.range(0, 12).mapToObj(i -> String.format("P%03d", i)).toList();
+
+        Map<String, ProductResponse> products = client.getProductsAsync(ids).join();
+
+        assertEquals(11, products.size());
+        assertFalse(products.containsKey("P011"));
+        verify(delegate).getProductsAsync(ids.subList(0, 5));
+        verify(delegate).getProductsAsync(ids.subList(5, 10));
+        verify(delegate).getProductsAsync(ids.subList(10, 12));
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void bulkLookup_BatchFailure_FailsWholeLookup() {
+        when(delegate.getStocksAsync(anyCollection()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of()))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("down")));
+        List<String> ids = IntStream.range(0, 7).mapToObj(i -> String.format("P%03d", i)).toList();
+
+        CompletionException e = assertThrows(CompletionException.class, () -> client.getStocksAsync(ids).join());
+        assertInstanceOf(ServiceUnavailableException.class, e.getCause());
+    }
+
+    @Test
+    void missingProductInBatch_ThrowsNotFound() {
+        when(delegate.getProductsAsync(anyCollection())).thenReturn(CompletableFuture.completedFuture(Map.of()));
+        CompletableFuture<ProductResponse> lookup = client.getProductAsync("not-found");
+
+        client.flush();
+
+        CompletionException e = assertThrows(CompletionException.class, lookup::join);
+        assertInstanceOf(ProductNotFoundException.class, e.getCause());
+    }
+
+    private ProductResponse product(String id) {
+        return ProductResponse.builder().name("Product " + id).price(new BigDecimal("1.00")).status("AVAILABLE")
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.MemberClient;
+import com.sotatek.order.config.MemberCacheProperties;
+import com.sotatek.order.exception.MemberNotFoundException;
+import com.sotatek.order.model.dto.external.MemberResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class CachingMemberClientTest {
+
+    @Mock
+    private MemberClient delegate;
+
+    private final MemberCacheProperties properties = new MemberCacheProperties();
+    private CachingMemberClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new CachingMemberClient(delegate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getMember_SecondLookup_ServedFromCache() {
+        when(delegate.getMember("M001")).thenReturn(member("ACTIVE"));
+
+        client.getMember("M001");
+        MemberResponse member = client.getMember("M001");
+
+        assertEquals("ACTIVE", member.getStatus());
+        verify(delegate, times(1)).getMember("M001");
+    }
+
+    @Test
+    void getMember_NotFound_CachedNegatively() {
+        when(delegate.getMember("missing")).thenThrow(new MemberNotFoundException("Member not found"));
+
+        assertThrows(MemberNotFoundException.class, () -> client.getMember("missing"));
+        MemberNotFoundException e = assertThrows(MemberNotFoundException.class, () -> client.getMember("missing"));
+
+        assertEquals("Member not found", e.getMessage());
+        verify(delegate, times(1)).getMember("missing");
+    }
+
+    @Test
+    void invalidate_DropsCachedMember() {
+        when(delegate.getMember("M001")).thenReturn(member("ACTIVE"), member("INACTIVE"));
+        client.getMember("M001");
+
+        client.invalidate("M001");
+
+        assertEquals("INACTIVE", client.getMember("M001").getStatus());
+    }
+
+    @Test
+    void invalidate_DuringLoad_OlderAnswerNotCached() {
+        when(delegate.getMember("M001")).thenAnswer(invocation -> {
+            // The member is deactivated while its old status is on the way back
+            client.invalidate("M001");
+            return member("ACTIVE");
+        }).thenReturn(member("INACTIVE"));
+
+        assertEquals("ACTIVE", client.getMember("M001").getStatus());
+
+        assertEquals("INACTIVE", client.getMember("M001").getStatus());
+        verify(delegate, times(2)).getMember("M001");
+    }
+
+    @Test
+    void getMemberAsync_InvalidatedBeforeAnswer_OlderAnswerNotCached() {
+        CompletableFuture<MemberResponse> pending = new CompletableFuture<>();
+        when(delegate.getMemberAsync("M001")).thenReturn(pending);
+        CompletableFuture<MemberResponse> lookup = client.getMemberAsync("M001");
+
+        client.invalidate("M001");
+        pending.complete(member("ACTIVE"));
+
+        assertEquals("ACTIVE", lookup.join().getStatus());
+        when(delegate.getMember("M001")).thenReturn(member("INACTIVE"));
+        assertEquals("INACTIVE", client.getMember("M001").getStatus());
+    }
+
+    @Test
+    void getMemberAsync_Cached_DoesNotCallDelegate() {
+        when(delegate.getMember("M001")).thenReturn(member("ACTIVE"));
+        client.getMember("M001");
+
+        assertEquals("ACTIVE", client.getMemberAsync("M001").join().getStatus());
+        verify(delegate, never()).getMemberAsync(any());
+    }
+
+    @Test
+    void getMemberAsync_NotFound_CachedNegatively() {
+        when(delegate.getMemberAsync("missing"))
+                .thenReturn(CompletableFuture.failedFuture(new MemberNotFoundException("Member not found")));
+
+        CompletionException e = assertThrows(CompletionException.class, () -> client.getMemberAsync("missing").join());
+        assertInstanceOf(MemberNotFoundException.class, e.getCause());
+
+        assertThrows(MemberNotFoundException.class, () -> client.getMember("missing"));
+        verify(delegate, never()).getMember(any());
+    }
+
+    @Test
+    void disabled_PassesThrough() {
+        properties.setEnabled(false);
+        client = new CachingMemberClient(delegate, properties, new SimpleMeterRegistry());
+        when(delegate.getMember("M001")).thenReturn(member("ACTIVE"));
+
+        client.getMember("M001");
+        client.getMember("M001");
+
+        verify(delegate, times(2)).getMember("M001");
+    }
+
+    private static MemberResponse member(String status) {
+        return MemberResponse.builder().id(1L).name("Member").status(status).build();
+    }
+}
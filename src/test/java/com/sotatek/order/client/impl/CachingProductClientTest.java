@@ -0,0 +1,233 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.ProductCacheProperties;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Loads complete as soon as the test completes the delegate's future, against a
+ * fake ticker, so refresh and expiry happen exactly when the test advances time:
+ * refresh-ahead after one minute, expiry after ten.
+ */
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "unchecked" })
+class CachingProductClientTest {
+
+    @Mock
+    private ProductClient delegate;
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CachingProductClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new CachingProductClient(delegate, properties(), meterRegistry, Runnable::run, now::get);
+    }
+
+    @Test
+    void getProduct_BeforeRefreshDue_ServedFromCache() {
+        when(delegate.getProductAsync("1")).thenReturn(done(priced("1", "10.00")));
+        client.getProduct("1");
+
+        advance(Duration.ofSeconds(59));
+
+        assertEquals(new BigDecimal("10.00"), client.getProduct("1").getPrice());
+        verify(delegate, times(1)).getProductAsync("1");
+    }
+
+    @Test
+    void getProduct_RefreshDue_ServesCurrentValueWhileReloading() {
+        CompletableFuture<ProductResponse> reload = new CompletableFuture<>();
+        when(delegate.getProductAsync("1")).thenReturn(done(priced("1", "10.00")), reload);
+        client.getProduct("1");
+
+        advance(Duration.ofMinutes(2));
+
+        // The read that triggers the refresh does not wait for it
+        assertEquals(new BigDecimal("10.00"), client.getProduct("1").getPrice());
+        verify(delegate, times(2)).getProductAsync("1");
+
+        reload.complete(priced("1", "12.00"));
+        assertEquals(new BigDecimal("12.00"), client.getProduct("1").getPrice());
+        verify(delegate, times(2)).getProductAsync("1");
+    }
+
+    @Test
+    void getProduct_PastExpiry_LoadedAgain() {
+        when(delegate.getProductAsync("1")).thenReturn(done(priced("1", "10.00")), done(priced("1", "12.00")));
+        client.getProduct("1");
+
+        advance(Duration.ofMinutes(11));
+
+        assertEquals(new BigDecimal("12.00"), client.getProduct("1").getPrice());
+        verify(delegate, times(2)).getProductAsync("1");
+    }
+
+    @Test
+    void getProductAsync_ConcurrentMisses_ShareOneLoad() {
+        CompletableFuture<ProductResponse> load = new CompletableFuture<>();
+        when(delegate.getProductAsync("1")).thenReturn(load);
+
+        CompletableFuture<ProductResponse> first = client.getProductAsync("1");
+        CompletableFuture<ProductResponse> second = client.getProductAsync("1");
+        load.complete(priced("1", "10.00"));
+
+        assertSame(first.join(), second.join());
+        verify(delegate, times(1)).getProductAsync("1");
+    }
+
+    @Test
+    void getProducts_PartialHit_LoadsOnlyMissingIds() {
+        when(delegate.getProductAsync("1")).thenReturn(done(priced("1", "10.00")));
+        when(delegate.getProductsAsync(List.of("2"))).thenReturn(done(Map.of("2", priced("2", "20.00"))));
+        client.getProduct("1");
+
+        Map<String, ProductResponse> products = client.getProducts(List.of("1", "2", "2"));
+
+        assertEquals(Set.of("1", "2"), products.keySet());
+        verify(delegate).getProductAsync("1");
+        verify(delegate).getProductsAsync(List.of("2"));
+
+        // Both are cached now
+        client.getProducts(List.of("1", "2"));
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void getProductsAsync_PartialHit_LoadsOnlyMissingIds() {
+        when(delegate.getProductAsync("1")).thenReturn(done(priced("1", "10.00")));
+        when(delegate.getProductsAsync(List.of("2"))).thenReturn(done(Map.of("2", priced("2", "20.00"))));
+        client.getProduct("1");
+
+        Map<String, ProductResponse> products = client.getProductsAsync(List.of("1", "2")).join();
+
+        assertEquals(Set.of("1", "2"), products.keySet());
+        assertEquals(new BigDecimal("20.00"), client.getProduct("2").getPrice());
+        verify(delegate, times(1)).getProductsAsync(List.of("2"));
+    }
+
+    @Test
+    void getProductsAsync_StaleEntries_PassedThroughButNotCached() {
+        when(delegate.getProductsAsync(List.of("1"))).thenReturn(
+                done(Map.of("1", product("1", Duration.ofMinutes(2)))), done(Map.of("1", product("1", null))));
+
+        assertTrue(client.getProductsAsync(List.of("1")).join().get("1").isStale());
+        assertFalse(client.getProductsAsync(List.of("1")).join().get("1").isStale());
+        verify(delegate, times(2)).getProductsAsync(List.of("1"));
+    }
+
+    @Test
+    void stock_NeverCached() {
+        when(delegate.getStock("1")).thenReturn(ProductStockResponse.builder().productId("1").build());
+
+        client.getStock("1");
+        client.getStock("1");
+
+        verify(delegate, times(2)).getStock("1");
+    }
+
+    @Test
+    void hitsMissesAndLoads_RecordedInCacheMetrics() {
+        when(delegate.getProductAsync("1")).thenReturn(done(priced("1", "10.00")));
+
+        client.getProduct("1");
+        client.getProduct("1");
+        client.getProduct("1");
+
+        assertEquals(2.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+        assertEquals(1.0, meterRegistry.get("cache.load")
+                .tag("cache", CachingProductClient.CACHE_NAME)
+                .tag("result", "success")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    void getProduct_StaleOnMiss_PassedThroughButNotCached() {
+        when(delegate.getProductAsync("1"))
+                .thenReturn(done(product("1", Duration.ofMinutes(2))), done(product("1", null)));
+
+        assertTrue(client.getProduct("1").isStale());
+        assertFalse(client.getProduct("1").isStale());
+        verify(delegate, times(2)).getProductAsync("1");
+    }
+
+    @Test
+    void refresh_OnlyStaleData_KeepsEntryAndItsExpiry() {
+        when(delegate.getProductAsync("1")).thenReturn(done(product("1", null)),
+                done(product("1", Duration.ofMinutes(2))), done(product("1", null)));
+        client.getProduct("1");
+
+        // Due for refresh; the reload only gets last-known-good data and fails
+        advance(Duration.ofMinutes(2));
+        assertFalse(client.getProduct("1").isStale());
+        verify(delegate, times(2)).getProductAsync("1");
+
+        // Still expires ten minutes after the last fresh load
+        advance(Duration.ofMinutes(9));
+        assertFalse(client.getProduct("1").isStale());
+        verify(delegate, times(3)).getProductAsync("1");
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private static ProductCacheProperties properties() {
+        ProductCacheProperties properties = new ProductCacheProperties();
+        properties.setRefreshAfterWrite(Duration.ofMinutes(1));
+        properties.setExpireAfterWrite(Duration.ofMinutes(10));
+        return properties;
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CachingProductClient.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static <T> CompletableFuture<T> done(T value) {
+        return CompletableFuture.completedFuture(value);
+    }
+
+    private static ProductResponse priced(String id, String price) {
+        return ProductResponse.builder()
+                .id(Long.valueOf(id))
+                .name("Product " + id)
+                .price(new BigDecimal(price))
+                .status("AVAILABLE")
+                .build();
+    }
+
+    private static ProductResponse product(String id, Duration staleness) {
+        return ProductResponse.builder()
+                .id(Long.valueOf(id))
+                .name("Product " + id)
+                .price(new BigDecimal("10.00"))
+                .status("AVAILABLE")
+                .staleness(staleness)
+                .build();
+    }
+}
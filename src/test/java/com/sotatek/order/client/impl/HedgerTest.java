@@ -0,0 +1,198 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.config.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private static final Duration FAST = Duration.ofMillis(5);
+    private static final Duration SLOW = Duration.ofMillis(300);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+    }
+
+    @Test
+    void slowAttempt_HedgeAnswersFirst_LoserCancelled() {
+        Hedger hedger = warmedUp(properties(1.0));
+        List<CompletableFuture<String>> attempts = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger calls = new AtomicInteger();
+
+        String value = hedger.hedge(() -> {
+            CompletableFuture<String> attempt = respond(calls.incrementAndGet() == 1 ? SLOW : FAST,
+                    "attempt-" + calls.get());
+            attempts.add(attempt);
+            return attempt;
+        }).join();
+
+        assertEquals("attempt-2", value);
+        assertTrue(attempts.get(0).isCancelled());
+        assertEquals(1.0, meterRegistry.counter("order.hedge", "service", "productService", "operation", "getProduct",
+                "outcome", "won").count());
+    }
+
+    @Test
+    void answeredBeforeDelay_NotHedged() {
+        Hedger hedger = warmedUp(properties(1.0));
+        AtomicInteger calls = new AtomicInteger();
+
+        hedger.hedge(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("value");
+        }).join();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void hedgeFails_SlowAttemptStillAnswers() {
+        Hedger hedger = warmedUp(properties(1.0));
+        AtomicInteger calls = new AtomicInteger();
+
+        String value = hedger.hedge(() -> calls.incrementAndGet() == 1
+                ? respond(SLOW, "primary")
+                : CompletableFuture.<String>failedFuture(new IllegalStateException("bulkhead full"))).join();
+
+        assertEquals("primary", value);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void retryBudgetExhausted_NotHedged() {
+        RetryBudget retryBudget = new RetryBudget(0, 0, Duration.ofSeconds(10));
+        Hedger hedger = track(new Hedger("productService", "getProduct", properties(1.0),
+                Optional.of(retryBudget), () -> true, meterRegistry));
+        warmUp(hedger);
+        AtomicInteger calls = new AtomicInteger();
+
+        hedger.hedge(() -> {
+            calls.incrementAndGet();
+            return respond(SLOW, "value");
+        }).join();
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("order.hedge", "service", "productService", "operation", "getProduct",
+                "outcome", "denied").count());
+    }
+
+    @Test
+    void bulkheadBusy_NotHedged() {
+        AtomicBoolean headroom = new AtomicBoolean(true);
+        Hedger hedger = track(new Hedger("productService", "getProduct", properties(1.0), Optional.empty(),
+                headroom::get, meterRegistry));
+        warmUp(hedger);
+        // The losers of earlier hedges still hold their permits
+        headroom.set(false);
+        AtomicInteger calls = new AtomicInteger();
+
+        hedger.hedge(() -> {
+            calls.incrementAndGet();
+            return respond(SLOW, "value");
+        }).join();
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("order.hedge", "service", "productService", "operation", "getProduct",
+                "outcome", "denied").count());
+    }
+
+    /**
+     * Wall-clock measurement; run with {@code ./gradlew benchmark}.
+     */
+    @Test
+    @Tag("benchmark")
+    void injectedTailLatency_HedgingCutsP99() throws Exception {
+        // Every 20th call is slow, like a GC pause or a cold connection
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<CompletableFuture<String>> call = () -> respond(
+                calls.incrementAndGet() % 20 == 0 ? SLOW : FAST, "value");
+
+        Duration plain = p99(call);
+        Hedger hedger = warmedUp(properties(0.5));
+        Duration hedged = p99(() -> hedger.hedge(call));
+
+        System.out.printf("p99 without hedging: %d ms, with hedging: %d ms%n", plain.toMillis(), hedged.toMillis());
+        assertTrue(plain.compareTo(SLOW) >= 0);
+        assertTrue(hedged.compareTo(SLOW.dividedBy(2)) < 0, "hedged p99 was " + hedged.toMillis() + " ms");
+    }
+
+    private Duration p99(Supplier<CompletableFuture<String>> call) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> latencies = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                latencies.add(callers.submit(() -> {
+                    long start = System.nanoTime();
+                    call.get().join();
+                    return System.nanoTime() - start;
+                }));
+            }
+            List<Long> sorted = new ArrayList<>();
+            for (Future<Long> latency : latencies) {
+                sorted.add(latency.get(30, TimeUnit.SECONDS));
+            }
+            Collections.sort(sorted);
+            return Duration.ofNanos(sorted.get((int) Math.ceil(0.99 * sorted.size()) - 1));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    // Warmed up with fast reads so the hedge delay is known
+    private Hedger warmedUp(HedgingProperties properties) {
+        Hedger hedger = track(new Hedger("productService", "getProduct", properties, Optional.empty(), () -> true,
+                meterRegistry));
+        warmUp(hedger);
+        return hedger;
+    }
+
+    private static void warmUp(Hedger hedger) {
+        for (int i = 0; i < 20; i++) {
+            hedger.hedge(() -> respond(FAST, "warm-up")).join();
+        }
+    }
+
+    private static HedgingProperties properties(double maxExtraLoad) {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setPercentile(0.9);
+        properties.setMinDelay(Duration.ofMillis(1));
+        properties.setMaxDelay(Duration.ofMillis(50));
+        properties.setMinSamples(20);
+        properties.setMaxExtraLoad(maxExtraLoad);
+        return properties;
+    }
+
+    private static CompletableFuture<String> respond(Duration latency, String value) {
+        return CompletableFuture.supplyAsync(() -> value,
+                CompletableFuture.delayedExecutor(latency.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private <T extends AutoCloseable> T track(T closeable) {
+        closeables.add(closeable);
+        return closeable;
+    }
+}
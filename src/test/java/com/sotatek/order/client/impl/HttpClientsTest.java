@@ -0,0 +1,261 @@
+package com.sotatek.order.client.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sotatek.order.config.HttpClientConfig;
+import com.sotatek.order.config.HttpClientProperties;
+import com.sotatek.order.exception.MemberNotFoundException;
+import com.sotatek.order.exception.PaymentFailedException;
+import com.sotatek.order.exception.PaymentOutcomeUnknownException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.MemberResponse;
+import com.sotatek.order.model.dto.external.PaymentRequest;
+import com.sotatek.order.model.dto.external.PaymentResponse;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import com.sotatek.order.model.enums.PaymentMethod;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the HTTP clients against a stub server on a local port. Resilience4j
+ * annotations are not applied here, so errors surface as the client raises them.
+ */
+@SuppressWarnings("null")
+class HttpClientsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final HttpClientConfig config = new HttpClientConfig();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> requestBodies = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private HttpClientProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/api/members/", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/404")) {
+                respond(exchange, 404, "{\"code\":\"MEMBER_NOT_FOUND\",\"message\":\"Member with id 404 not found\"}");
+            } else {
+                respond(exchange, 200, "{\"id\":1001,\"name\":\"John Doe\",\"email\":\"john.doe@example.com\","
+                        + "\"status\":\"ACTIVE\",\"grade\":\"GOLD\",\"since\":\"2020-01-01\"}");
+            }
+        });
+        server.createContext("/api/products/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String id = path.replace("/api/products/", "").replace("/stock", "");
+            if ("404".equals(id)) {
+                respond(exchange, 404, "{\"code\":\"PRODUCT_NOT_FOUND\",\"message\":\"Product not found\"}");
+            } else if ("500".equals(id)) {
+                respond(exchange, 500, "<html>Internal Server Error</html>");
+            } else if (path.endsWith("/stock")) {
+                respond(exchange, 200, "{\"productId\":" + id + ",\"quantity\":150,\"reservedQuantity\":10,"
+                        + "\"availableQuantity\":140}");
+            } else {
+                respond(exchange, 200, "{\"id\":" + id + ",\"name\":\"Wireless Mouse\",\"price\":29.99,"
+                        + "\"status\":\"AVAILABLE\"}");
+            }
+        });
+        server.createContext("/api/payments", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requestBodies.put(exchange.getRequestURI().getPath().endsWith("/refund") ? "refund" : "payment", body);
+            requestBodies.put("idempotencyKey", exchange.getRequestHeaders().getFirst("Idempotency-Key"));
+            if (body.contains("\"amount\":400}")) {
+                respond(exchange, 400, "{\"code\":\"INVALID_PAYMENT_REQUEST\",\"message\":\"Unsupported card\"}");
+            } else if (body.contains("\"amount\":429}")) {
+                respond(exchange, 429, "{\"code\":\"RATE_LIMITED\",\"message\":\"Too many requests\"}");
+            } else if (body.contains("\"amount\":99999")) {
+                respond(exchange, 422, "{\"code\":\"PAYMENT_FAILED\",\"message\":\"Insufficient funds\"}");
+            } else {
+                respond(exchange, 201, "{\"id\":4001,\"orderId\":3001,\"amount\":59.98,\"status\":\"COMPLETED\","
+                        + "\"transactionId\":\"TXN-20240115-ABC123\",\"createdAt\":\"2024-01-15T10:30:00Z\"}");
+            }
+        });
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        properties = new HttpClientProperties();
+        properties.setReadTimeout(Duration.ofSeconds(2));
+        properties.getMember().setBaseUrl(baseUrl);
+        properties.getProduct().setBaseUrl(baseUrl);
+        properties.getProduct().setMaxConnections(4);
+        properties.getPayment().setBaseUrl(baseUrl);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void getMember_ReadsMemberAndIgnoresUnknownFields() {
+        MemberResponse member = memberClient().getMember("1001");
+
+        assertEquals(1001L, member.getId());
+        assertEquals("ACTIVE", member.getStatus());
+        assertEquals("GOLD", member.getGrade());
+    }
+
+    @Test
+    void getMember_NotFound_ThrowsMemberNotFound() {
+        assertThrows(MemberNotFoundException.class, () -> memberClient().getMember("404"));
+    }
+
+    @Test
+    void getProducts_LeavesOutUnknownIds() {
+        Map<String, ProductResponse> products = productClient().getProducts(List.of("2001", "404", "2002"));
+
+        assertEquals(Set.of("2001", "2002"), products.keySet());
+        assertEquals(new BigDecimal("29.99"), products.get("2001").getPrice());
+    }
+
+    @Test
+    void getStock_ReadsNumericProductId() {
+        ProductStockResponse stock = productClient().getStock("2001");
+
+        assertEquals("2001", stock.getProductId());
+        assertEquals(140, stock.getAvailableQuantity());
+    }
+
+    @Test
+    void getProduct_ServerError_ThrowsServiceUnavailable() {
+        assertThrows(ServiceUnavailableException.class, () -> productClient().getProduct("500"));
+    }
+
+    @Test
+    void getStocks_ReusesPooledConnections() {
+        HttpProductClient client = productClient();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(String.valueOf(2000 + i));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            assertEquals(40, client.getStocks(ids).size());
+        }
+
+        // 120 requests over at most max-connections keep-alive connections
+        assertTrue(clientPorts.size() <= 4, "connections opened: " + clientPorts.size());
+    }
+
+    @Test
+    void createPayment_SendsCompactJsonWithIdempotencyKey() {
+        PaymentResponse payment = paymentClient().createPayment(PaymentRequest.builder()
+                .orderId(3001L)
+                .amount(new BigDecimal("59.98"))
+                .build());
+
+        assertEquals("COMPLETED", payment.getStatus());
+        assertEquals("TXN-20240115-ABC123", payment.getTransactionId());
+        assertNotNull(payment.getCreatedAt());
+        assertEquals("{\"orderId\":3001,\"amount\":59.98}", requestBodies.get("payment"));
+        assertEquals("order-3001", requestBodies.get("idempotencyKey"));
+    }
+
+    @Test
+    void createPayment_Declined_ReturnsFailedPayment() {
+        PaymentResponse payment = paymentClient().createPayment(PaymentRequest.builder()
+                .orderId(3002L)
+                .amount(new BigDecimal("99999"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build());
+
+        assertEquals("FAILED", payment.getStatus());
+        assertEquals(3002L, payment.getOrderId());
+    }
+
+    @Test
+    void createPayment_InvalidRequest_ThrowsPaymentFailed() {
+        PaymentRequest request = PaymentRequest.builder().orderId(3003L).amount(new BigDecimal("400")).build();
+
+        PaymentFailedException e = assertThrows(PaymentFailedException.class,
+                () -> paymentClient().createPayment(request));
+        assertEquals("Unsupported card", e.getMessage());
+    }
+
+    @Test
+    void createPayment_RateLimited_ThrowsRetryableUnavailable() {
+        PaymentRequest request = PaymentRequest.builder().orderId(3004L).amount(new BigDecimal("429")).build();
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> paymentClient().createPayment(request));
+        // Refused before processing: not an unknown outcome, so it may be sent again
+        assertFalse(e instanceof PaymentOutcomeUnknownException);
+    }
+
+    @Test
+    void refundPayment_Disabled_IsNotSent() {
+        assertThrows(PaymentFailedException.class,
+                () -> paymentClient().refundPayment("TXN-1", new BigDecimal("59.98")));
+        assertNull(requestBodies.get("refund"));
+    }
+
+    @Test
+    void refundPayment_Enabled_PostsAmount() {
+        properties.getPayment().setRefundEnabled(true);
+
+        paymentClient().refundPayment("TXN-1", new BigDecimal("59.98"));
+
+        assertEquals("{\"amount\":59.98}", requestBodies.get("refund"));
+        assertEquals("refund-TXN-1", requestBodies.get("idempotencyKey"));
+    }
+
+    private HttpMemberClient memberClient() {
+        CloseableHttpClient httpClient = track(config.memberHttpClient(properties));
+        return new HttpMemberClient(config.memberRestClient(RestClient.builder(), objectMapper, httpClient, properties),
+                Runnable::run);
+    }
+
+    private HttpProductClient productClient() {
+        CloseableHttpClient httpClient = track(config.productHttpClient(properties));
+        return track(new HttpProductClient(
+                config.productRestClient(RestClient.builder(), objectMapper, httpClient, properties), Runnable::run));
+    }
+
+    private HttpPaymentClient paymentClient() {
+        CloseableHttpClient httpClient = track(config.paymentHttpClient(properties));
+        return new HttpPaymentClient(
+                config.paymentRestClient(RestClient.builder(), objectMapper, httpClient, properties), Runnable::run,
+                properties);
+    }
+
+    private <T extends AutoCloseable> T track(T closeable) {
+        closeables.add(closeable);
+        return closeable;
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type",
+                body.startsWith("{") ? "application/json" : "text/html");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
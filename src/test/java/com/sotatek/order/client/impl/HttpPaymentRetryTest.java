@@ -0,0 +1,159 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.PaymentClient;
+import com.sotatek.order.exception.PaymentOutcomeUnknownException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.PaymentRequest;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The HTTP payment client under the Resilience4j aspects from application.yml,
+ * against a stub payment service: a payment whose response never arrives is sent
+ * once, while a 503 (refused before processing) is retried.
+ */
+@SpringBootTest(properties = {
+        "order.http.read-timeout=300ms",
+        "resilience4j.retry.instances.paymentService.waitDuration=10ms",
+        "order.retry-budget.enabled=false"
+})
+@ActiveProfiles("http")
+@SuppressWarnings("null")
+class HttpPaymentRetryTest {
+
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static volatile int status;
+    private static volatile long delayMillis;
+    private static final HttpServer server = startServer();
+
+    @Autowired
+    private PaymentClient paymentClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @DynamicPropertySource
+    static void serviceUrls(DynamicPropertyRegistry registry) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        registry.add("order.http.member.base-url", () -> baseUrl);
+        registry.add("order.http.product.base-url", () -> baseUrl);
+        registry.add("order.http.payment.base-url", () -> baseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+        requests.set(0);
+        status = 201;
+        delayMillis = 0;
+    }
+
+    @Test
+    void createPayment_ReadTimeout_IsSentOnce() throws InterruptedException {
+        delayMillis = 1000;
+
+        assertThrows(PaymentOutcomeUnknownException.class, () -> paymentClient.createPayment(request(1L)));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void createPaymentAsync_ReadTimeout_IsSentOnce() throws InterruptedException {
+        delayMillis = 1000;
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> paymentClient.createPaymentAsync(request(2L)).get(2, TimeUnit.SECONDS));
+        assertInstanceOf(PaymentOutcomeUnknownException.class, e.getCause());
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void createPayment_ServiceUnavailable_IsRetried() {
+        status = 503;
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> paymentClient.createPayment(request(3L)));
+        assertFalse(e instanceof PaymentOutcomeUnknownException);
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void createPayment_RateLimited_IsRetried() {
+        status = 429;
+
+        assertThrows(ServiceUnavailableException.class, () -> paymentClient.createPayment(request(5L)));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void createPayment_BadGateway_IsSentOnce() {
+        status = 502;
+
+        assertThrows(PaymentOutcomeUnknownException.class, () -> paymentClient.createPayment(request(4L)));
+        assertEquals(1, requests.get());
+    }
+
+    private static PaymentRequest request(Long orderId) {
+        return PaymentRequest.builder().orderId(orderId).amount(new BigDecimal("10.00")).build();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            stub.setExecutor(Executors.newFixedThreadPool(4));
+            stub.createContext("/api/payments", exchange -> {
+                requests.incrementAndGet();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = (status == 201
+                        ? "{\"id\":4001,\"orderId\":1,\"amount\":10.00,\"status\":\"COMPLETED\","
+                                + "\"transactionId\":\"TXN-1\"}"
+                        : "{\"code\":\"UNAVAILABLE\",\"message\":\"Try again later\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                try {
+                    exchange.sendResponseHeaders(status, body.length);
+                    exchange.getResponseBody().write(body);
+                } catch (IOException e) {
+                    // The client gave up on a delayed response
+                } finally {
+                    exchange.close();
+                }
+            });
+            stub.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
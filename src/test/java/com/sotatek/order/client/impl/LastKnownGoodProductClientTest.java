@@ -0,0 +1,143 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.ProductFallbackProperties;
+import com.sotatek.order.exception.ProductNotFoundException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.ProductResponse;
+import com.sotatek.order.model.dto.external.ProductStockResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class LastKnownGoodProductClientTest {
+
+    @Mock
+    private ProductClient delegate;
+
+    private final AtomicLong now = new AtomicLong();
+    private LastKnownGoodProductClient client;
+
+    @BeforeEach
+    void setUp() {
+        ProductFallbackProperties properties = new ProductFallbackProperties();
+        properties.setMaxStaleness(Duration.ofMinutes(5));
+        properties.setStockFactor(0.5);
+        client = new LastKnownGoodProductClient(delegate, properties, new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    void getProduct_ServiceUnavailable_ServesLastKnownGoodTaggedStale() {
+        when(delegate.getProduct("1"))
+                .thenReturn(product("1"))
+                .thenThrow(new ServiceUnavailableException("Product service is temporarily unavailable"));
+
+        assertFalse(client.getProduct("1").isStale());
+        advance(Duration.ofMinutes(2));
+        ProductResponse stale = client.getProduct("1");
+
+        assertEquals(new BigDecimal("10.00"), stale.getPrice());
+        assertEquals(Duration.ofMinutes(2), stale.getStaleness());
+    }
+
+    @Test
+    void getProduct_OlderThanMaxStaleness_Rejected() {
+        when(delegate.getProduct("1"))
+                .thenReturn(product("1"))
+                .thenThrow(new ServiceUnavailableException("Product service is temporarily unavailable"));
+
+        client.getProduct("1");
+        advance(Duration.ofMinutes(6));
+
+        assertThrows(ServiceUnavailableException.class, () -> client.getProduct("1"));
+    }
+
+    @Test
+    void getProduct_NeverFetched_Rejected() {
+        when(delegate.getProduct("1"))
+                .thenThrow(new ServiceUnavailableException("Product service is temporarily unavailable"));
+
+        assertThrows(ServiceUnavailableException.class, () -> client.getProduct("1"));
+    }
+
+    @Test
+    void getProduct_BusinessError_NotMasked() {
+        when(delegate.getProduct("1"))
+                .thenReturn(product("1"))
+                .thenThrow(new ProductNotFoundException("Product not found: 1"));
+
+        client.getProduct("1");
+
+        assertThrows(ProductNotFoundException.class, () -> client.getProduct("1"));
+    }
+
+    @Test
+    void getStockAsync_ServiceUnavailable_OffersShareOfLastAvailable() {
+        when(delegate.getStockAsync("1"))
+                .thenReturn(CompletableFuture.completedFuture(stock("1", 9)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new ServiceUnavailableException("Product service is temporarily unavailable")));
+
+        client.getStockAsync("1").join();
+        ProductStockResponse stale = client.getStockAsync("1").join();
+
+        assertTrue(stale.isStale());
+        assertEquals(4, stale.getAvailableQuantity());
+    }
+
+    @Test
+    void getProductsAsync_AnyIdUnknown_WholeBatchRejected() {
+        when(delegate.getProductsAsync(List.of("1", "2")))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new ServiceUnavailableException("Product service is temporarily unavailable")));
+        when(delegate.getProductsAsync(List.of("1")))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("1", product("1"))))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new ServiceUnavailableException("Product service is temporarily unavailable")));
+
+        client.getProductsAsync(List.of("1")).join();
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> client.getProductsAsync(List.of("1", "2")).join());
+        assertInstanceOf(ServiceUnavailableException.class, e.getCause());
+        assertTrue(client.getProductsAsync(List.of("1")).join().get("1").isStale());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private ProductResponse product(String id) {
+        return ProductResponse.builder()
+                .id(Long.valueOf(id))
+                .name("Product " + id)
+                .price(new BigDecimal("10.00"))
+                .status("AVAILABLE")
+                .build();
+    }
+
+    private ProductStockResponse stock(String id, int available) {
+        return ProductStockResponse.builder()
+                .productId(id)
+                .quantity(available)
+                .reservedQuantity(0)
+                .availableQuantity(available)
+                .build();
+    }
+}
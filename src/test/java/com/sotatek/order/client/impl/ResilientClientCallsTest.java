@@ -0,0 +1,169 @@
+package com.sotatek.order.client.impl;
+
+import com.sotatek.order.exception.PaymentOutcomeUnknownException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.external.MemberResponse;
+import com.sotatek.order.model.dto.external.PaymentRequest;
+import com.sotatek.order.model.dto.external.PaymentResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The real mock clients under the Resilience4j aspects from application.yml: a
+ * hung call is cut off by the time limiter, and calls beyond the bulkhead fail
+ * fast. A timed-out member read is retried; a payment is retried only when it
+ * never reached the provider.
+ */
+@SpringBootTest(properties = {
+        "resilience4j.timelimiter.instances.paymentService.timeoutDuration=200ms",
+        "resilience4j.retry.instances.paymentService.waitDuration=10ms",
+        "resilience4j.bulkhead.instances.paymentService.maxConcurrentCalls=2",
+        "resilience4j.bulkhead.instances.paymentService.maxWaitDuration=0",
+        "resilience4j.timelimiter.instances.memberService.timeoutDuration=200ms",
+        "resilience4j.retry.instances.memberService.waitDuration=10ms",
+        "order.retry-budget.enabled=false"
+})
+@SuppressWarnings("null")
+class ResilientClientCallsTest {
+
+    @SpyBean
+    private MockPaymentClient paymentClient;
+
+    @SpyBean
+    private MockMemberClient memberClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final CountDownLatch providerReleased = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Frees the client call threads still held by hung calls
+        providerReleased.countDown();
+    }
+
+    @Test
+    void createPaymentAsync_HungProvider_FailsAfterTimeLimitWithoutRetry() {
+        hangProvider();
+        long start = System.nanoTime();
+        CompletableFuture<PaymentResponse> payment = paymentClient.createPaymentAsync(request(1L));
+
+        // The caller is not held while the provider hangs
+        assertFalse(payment.isDone());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> payment.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(PaymentOutcomeUnknownException.class, e.getCause());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        // The timed-out call may have charged; a second one could charge again
+        verify(provider(), after(300).times(1)).createPayment(any());
+    }
+
+    @Test
+    void createPaymentAsync_BulkheadFull_FailsFast() {
+        hangProvider();
+        List<CompletableFuture<PaymentResponse>> payments = IntStream.range(0, 3)
+                .mapToObj(i -> paymentClient.createPaymentAsync(request((long) i)))
+                .toList();
+
+        List<Throwable> failures = payments.stream()
+                .map(payment -> assertThrows(ExecutionException.class, () -> payment.get(2, TimeUnit.SECONDS))
+                        .getCause())
+                .toList();
+
+        failures.forEach(failure -> assertInstanceOf(ServiceUnavailableException.class, failure));
+        // The rejected call never reached the provider, so it is not an unknown outcome
+        assertTrue(failures.stream().anyMatch(failure -> !(failure instanceof PaymentOutcomeUnknownException)
+                && failure.getMessage().contains("full")));
+    }
+
+    @Test
+    void getMemberAsync_HungOnce_IsRetriedAfterTimeLimit() throws Exception {
+        MockMemberClient member = AopTestUtils.getUltimateTargetObject(memberClient);
+        doAnswer(invocation -> {
+            providerReleased.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(member).getMember(any());
+
+        MemberResponse response = memberClient.getMemberAsync("1001").get(2, TimeUnit.SECONDS);
+
+        assertEquals("ACTIVE", response.getStatus());
+        verify(member, times(2)).getMember("1001");
+    }
+
+    @Test
+    void createPaymentAsync_RunsOffTheCallingThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        doAnswer(invocation -> {
+            assertNotSame(caller, Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(provider()).createPayment(any());
+
+        assertEquals("COMPLETED", paymentClient.createPaymentAsync(request(1L)).get(2, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void createPayment_ReadTimeout_IsNotRetried() {
+        doThrow(new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out")))
+                .when(provider()).createPayment(any());
+
+        assertThrows(PaymentOutcomeUnknownException.class, () -> paymentClient.createPayment(request(1L)));
+        verify(provider(), times(1)).createPayment(any());
+    }
+
+    @Test
+    void createPayment_ConnectionRefused_IsRetried() {
+        doThrow(new ResourceAccessException("I/O error", new ConnectException("Connection refused")))
+                .doCallRealMethod()
+                .when(provider()).createPayment(any());
+
+        PaymentResponse payment = paymentClient.createPayment(request(1L));
+
+        assertEquals("COMPLETED", payment.getStatus());
+        verify(provider(), times(2)).createPayment(any());
+    }
+
+    private void hangProvider() {
+        doAnswer(invocation -> {
+            providerReleased.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(provider()).createPayment(any());
+    }
+
+    /**
+     * The spy behind the Resilience4j proxy; calls on it bypass the aspects.
+     */
+    private MockPaymentClient provider() {
+        return AopTestUtils.getUltimateTargetObject(paymentClient);
+    }
+
+    private static PaymentRequest request(Long orderId) {
+        return PaymentRequest.builder().orderId(orderId).amount(new BigDecimal("10.00")).build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.sotatek.order.client.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong nanos = new AtomicLong(Duration.ofHours(1).toNanos());
+
+    @Test
+    void retriesLimitedToShareOfSuccesses() {
+        RetryBudget budget = new RetryBudget(0.1, 0, Duration.ofSeconds(10), nanos::get);
+        for (int i = 0; i < 100; i++) {
+            budget.recordSuccess();
+        }
+
+        int granted = 0;
+        while (budget.tryAcquire()) {
+            granted++;
+        }
+
+        assertEquals(10, granted);
+    }
+
+    @Test
+    void noSuccesses_OnlyMinimumAllowance() {
+        RetryBudget budget = new RetryBudget(0.1, 1, Duration.ofSeconds(10), nanos::get);
+
+        int granted = 0;
+        while (budget.tryAcquire()) {
+            granted++;
+        }
+
+        // One per second of window, however many requests fail
+        assertEquals(10, granted);
+    }
+
+    @Test
+    void successesOutsideWindow_NoLongerCount() {
+        RetryBudget budget = new RetryBudget(0.5, 0, Duration.ofSeconds(10), nanos::get);
+        for (int i = 0; i < 10; i++) {
+            budget.recordSuccess();
+        }
+        assertEquals(5.0, budget.available());
+
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        budget.recordSuccess();
+        assertEquals(5.5, budget.available());
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(0.5, budget.available());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void concurrentAcquires_NeverOvershoot() throws Exception {
+        RetryBudget budget = new RetryBudget(0.1, 0, Duration.ofSeconds(10), nanos::get);
+        for (int i = 0; i < 1000; i++) {
+            budget.recordSuccess();
+        }
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                callers.add(threads.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        if (budget.tryAcquire()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> caller : callers) {
+                caller.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    void release_ReturnsTheRetry() {
+        RetryBudget budget = new RetryBudget(0, 1, Duration.ofSeconds(1), nanos::get);
+
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        budget.release();
+        assertTrue(budget.tryAcquire());
+    }
+}
@@ -0,0 +1,155 @@
+package com.sotatek.order.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sotatek.order.client.impl.MockMemberClient;
+import com.sotatek.order.client.impl.MockPaymentClient;
+import com.sotatek.order.client.impl.MockProductClient;
+import com.sotatek.order.model.dto.request.CreateOrderRequest;
+import com.sotatek.order.model.dto.request.OrderItemRequest;
+import com.sotatek.order.model.enums.PaymentMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.util.AopTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Compares order throughput with platform and virtual request threads on the
+ * real create-order path: the booted app behind Tomcat, with the mock clients
+ * under their Resilience4j aspects answering after a fixed latency. Every
+ * request uses its own member and product, so the caches do not hide the
+ * downstream calls.
+ *
+ * Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+abstract class ExecutionModeBenchmarkTest {
+
+    private static final int REQUESTS = 3000;
+    // Beyond Tomcat's default server.tomcat.threads.max of 200
+    private static final int CONCURRENT_CALLERS = 400;
+    private static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(20);
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @SpyBean
+    private MockMemberClient memberClient;
+
+    @SpyBean
+    private MockProductClient productClient;
+
+    @SpyBean
+    private MockPaymentClient paymentClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=false")
+    static class PlatformThreads extends ExecutionModeBenchmarkTest {
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=true")
+    static class VirtualThreads extends ExecutionModeBenchmarkTest {
+    }
+
+    @BeforeEach
+    void addDownstreamLatency() {
+        MockMemberClient member = AopTestUtils.getUltimateTargetObject(memberClient);
+        MockProductClient product = AopTestUtils.getUltimateTargetObject(productClient);
+        MockPaymentClient payment = AopTestUtils.getUltimateTargetObject(paymentClient);
+        doAnswer(slow()).when(member).getMember(any());
+        doAnswer(slow()).when(product).getProduct(any());
+        doAnswer(slow()).when(product).getStock(any());
+        doAnswer(slow()).when(product).getProducts(any());
+        doAnswer(slow()).when(product).getStocks(any());
+        doAnswer(slow()).when(payment).createPayment(any());
+    }
+
+    @Test
+    void createOrderThroughput() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            // Warm-up so connection setup and JIT are not measured
+            submitAll(callers, CONCURRENT_CALLERS);
+
+            long start = System.nanoTime();
+            int created = submitAll(callers, REQUESTS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            System.out.printf("%s: %d requests in %d ms (%.0f req/s), %d created%n",
+                    getClass().getSimpleName(), REQUESTS, elapsed.toMillis(),
+                    REQUESTS * 1000.0 / elapsed.toMillis(), created);
+            assertTrue(created > 0);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private int submitAll(ExecutorService callers, int count) throws Exception {
+        List<Future<Integer>> statuses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            statuses.add(callers.submit(this::createOrder));
+        }
+        int created = 0;
+        for (Future<Integer> status : statuses) {
+            if (status.get(1, TimeUnit.MINUTES) == 201) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private int createOrder() throws Exception {
+        int n = sequence.incrementAndGet();
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId("P-" + n);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setMemberId("M-" + n);
+        request.setItems(List.of(item));
+        request.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+
+        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request)))
+                .build();
+        return httpClient.send(post, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static Answer<?> slow() {
+        return invocation -> {
+            Thread.sleep(DOWNSTREAM_LATENCY);
+            return invocation.callRealMethod();
+        };
+    }
+}
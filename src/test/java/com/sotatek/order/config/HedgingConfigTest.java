@@ -0,0 +1,28 @@
+package com.sotatek.order.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingConfigTest {
+
+    @Test
+    void headroom_HalfThePermitsTaken_NoMoreHedges() {
+        Bulkhead bulkhead = Bulkhead.of("productService", BulkheadConfig.custom().maxConcurrentCalls(4).build());
+        BooleanSupplier headroom = HedgingConfig.headroom(bulkhead, 0.5);
+
+        bulkhead.acquirePermission();
+        assertTrue(headroom.getAsBoolean());
+        bulkhead.acquirePermission();
+        assertTrue(headroom.getAsBoolean());
+        bulkhead.acquirePermission();
+        assertFalse(headroom.getAsBoolean());
+
+        bulkhead.onComplete();
+        assertTrue(headroom.getAsBoolean());
+    }
+}
@@ -0,0 +1,76 @@
+package com.sotatek.order.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MemberCacheEndpointFilterTest {
+
+    @Test
+    void evict_WithoutToken_Refused() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter("secret").doFilter(delete(null), response, chain);
+
+        assertEquals(401, response.getStatus());
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void evict_WrongToken_Refused() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter("secret").doFilter(delete("Bearer guess"), response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void evict_NoTokenConfigured_RefusedWhateverIsSent() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter("").doFilter(delete("Bearer "), response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void evict_ValidToken_PassedOn() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter("secret").doFilter(delete("Bearer secret"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void otherActuatorEndpoints_NotGuarded() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter("secret").doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    private static MemberCacheEndpointFilter filter(String token) {
+        MemberCacheProperties properties = new MemberCacheProperties();
+        properties.setAdminToken(token);
+        return new MemberCacheEndpointFilter(properties, "/actuator");
+    }
+
+    private static MockHttpServletRequest delete(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/actuator/membercache/M001");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
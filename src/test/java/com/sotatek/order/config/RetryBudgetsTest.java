@@ -0,0 +1,57 @@
+package com.sotatek.order.config;
+
+import com.sotatek.order.client.impl.MockMemberClient;
+import com.sotatek.order.client.impl.RetryBudget;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.util.AopTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The {@code @Retry} aspect runs the budgeted retry that {@link RetryBudgets}
+ * put in the registry: with the budget empty a retryable failure goes straight
+ * to the caller, and one success in the window buys exactly one retry.
+ */
+@SpringBootTest(properties = {
+        "resilience4j.retry.instances.memberService.waitDuration=10ms",
+        "order.retry-budget.ratio=1",
+        "order.retry-budget.min-retries-per-second=0"
+})
+@SuppressWarnings("null")
+class RetryBudgetsTest {
+
+    @SpyBean
+    private MockMemberClient memberClient;
+
+    @Autowired
+    private RetryBudgets retryBudgets;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void retryAspect_UsesTheBudgetedRetry() {
+        MockMemberClient member = AopTestUtils.getUltimateTargetObject(memberClient);
+        RetryBudget budget = retryBudgets.forService("memberService").orElseThrow();
+
+        doThrow(new ServiceUnavailableException("down")).doCallRealMethod().when(member).getMember(any());
+        assertThrows(ServiceUnavailableException.class, () -> memberClient.getMember("1001"));
+        verify(member, times(1)).getMember("1001");
+        assertEquals(1.0, meterRegistry.counter("order.retry.budget", "service", "memberService",
+                "outcome", "denied").count());
+
+        budget.recordSuccess();
+        doThrow(new ServiceUnavailableException("down")).doCallRealMethod().when(member).getMember(any());
+        assertEquals("ACTIVE", memberClient.getMember("1001").getStatus());
+        verify(member, times(3)).getMember("1001");
+        assertEquals(1.0, meterRegistry.counter("order.retry.budget", "service", "memberService",
+                "outcome", "granted").count());
+    }
+}
@@ -1,6 +1,9 @@
 package com.sotatek.order.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sotatek.order.model.dto.request.BatchCancelOrderRequest;
+import com.sotatek.order.model.dto.request.BatchCreateOrderRequest;
 import com.sotatek.order.model.dto.request.CreateOrderRequest;
 import com.sotatek.order.model.dto.request.OrderItemRequest;
 import com.sotatek.order.model.dto.request.UpdateOrderRequest;
@@ -14,10 +17,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,6 +52,74 @@ class OrderControllerIntegrationTest {
                                 .andExpect(jsonPath("$.totalAmount").isNumber());
         }
 
+        @Test
+        void acceptOrder_Returns202_AndWorkerConfirmsOrder() throws Exception {
+                MvcResult result = mockMvc.perform(post("/api/orders/async")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createValidRequest())))
+                                .andExpect(status().isAccepted())
+                                .andExpect(header().exists("Location"))
+                                .andExpect(jsonPath("$.status").value("PENDING"))
+                                .andReturn();
+
+                long orderId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+                await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> mockMvc.perform(get("/api/orders/{id}", orderId))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("CONFIRMED")));
+        }
+
+        @Test
+        void createOrders_Batch_ReturnsPerOrderResults() throws Exception {
+                CreateOrderRequest invalidMember = createValidRequest();
+                invalidMember.setMemberId("not-found");
+                BatchCreateOrderRequest batch = new BatchCreateOrderRequest();
+                batch.setOrders(List.of(createValidRequest(), invalidMember, createValidRequest()));
+
+                mockMvc.perform(post("/api/orders/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(batch)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.succeeded").value(2))
+                                .andExpect(jsonPath("$.failed").value(1))
+                                .andExpect(jsonPath("$.results[0].order.status").value("CONFIRMED"))
+                                .andExpect(jsonPath("$.results[1].error").value("MEMBER_NOT_FOUND"))
+                                .andExpect(jsonPath("$.results[2].success").value(true));
+        }
+
+        @Test
+        void cancelOrders_Batch_RefundsAndReportsPerOrder() throws Exception {
+                MvcResult createResult = mockMvc.perform(post("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createValidRequest())))
+                                .andExpect(status().isCreated())
+                                .andReturn();
+                long orderId = objectMapper.readTree(
+                                createResult.getResponse().getContentAsString()).get("id").asLong();
+
+                BatchCancelOrderRequest batch = new BatchCancelOrderRequest();
+                batch.setOrderIds(List.of(orderId, 99999L));
+
+                mockMvc.perform(post("/api/orders/batch/cancel")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(batch)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.succeeded").value(1))
+                                .andExpect(jsonPath("$.failed").value(1))
+                                .andExpect(jsonPath("$.results[0].order.status").value("CANCELLED"))
+                                .andExpect(jsonPath("$.results[1].orderId").value(99999))
+                                .andExpect(jsonPath("$.results[1].error").value("ORDER_NOT_FOUND"));
+        }
+
+        @Test
+        void cancelOrders_Batch_NoTarget_Returns400() throws Exception {
+                mockMvc.perform(post("/api/orders/batch/cancel")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        }
+
         @Test
         void createOrder_InvalidMember_Returns404() throws Exception {
                 CreateOrderRequest request = createValidRequest();
@@ -152,6 +226,42 @@ class OrderControllerIntegrationTest {
                                 .andExpect(jsonPath("$.totalElements").isNumber());
         }
 
+        @Test
+        void listOrdersByCursor_PagesWithoutOverlap() throws Exception {
+                for (int i = 0; i < 3; i++) {
+                        mockMvc.perform(post("/api/orders")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(createValidRequest())))
+                                        .andExpect(status().isCreated());
+                }
+
+                MvcResult first = mockMvc.perform(get("/api/orders/cursor").param("size", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content.length()").value(2))
+                                .andExpect(jsonPath("$.nextCursor").isString())
+                                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                                .andReturn();
+
+                JsonNode firstSlice = objectMapper.readTree(first.getResponse().getContentAsString());
+                long lastIdOfFirstSlice = firstSlice.get("content").get(1).get("id").asLong();
+
+                MvcResult second = mockMvc.perform(get("/api/orders/cursor")
+                                .param("size", "2")
+                                .param("cursor", firstSlice.get("nextCursor").asText()))
+                                .andExpect(status().isOk())
+                                .andReturn();
+
+                JsonNode secondSlice = objectMapper.readTree(second.getResponse().getContentAsString());
+                assertTrue(secondSlice.get("content").get(0).get("id").asLong() < lastIdOfFirstSlice);
+        }
+
+        @Test
+        void listOrdersByCursor_InvalidCursor_Returns400() throws Exception {
+                mockMvc.perform(get("/api/orders/cursor").param("cursor", "not-a-cursor"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error").value("INVALID_CURSOR"));
+        }
+
         @Test
         void cancelOrder_Success_Returns200() throws Exception {
                 // First create an order
@@ -0,0 +1,63 @@
+package com.sotatek.order.exception;
+
+import com.sotatek.order.model.dto.response.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The handler takes its mapping from {@link ErrorCode#from}, so a request and a
+ * per-item result get the same code and status.
+ */
+@SuppressWarnings("null")
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void mappedException_UsesErrorCodeAndMessage() {
+        ResponseEntity<ErrorResponse> response = handler.handleException(new OrderNotFoundException("Order 1"));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("ORDER_NOT_FOUND", response.getBody().getError());
+        assertEquals("Order 1", response.getBody().getMessage());
+    }
+
+    @Test
+    void subclass_MappedLikeItsParent() {
+        ResponseEntity<ErrorResponse> response = handler.handleException(
+                new PaymentOutcomeUnknownException("Payment outcome unknown"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE.name(), response.getBody().getError());
+    }
+
+    @Test
+    void replayedError_KeepsItsStoredCode() {
+        ResponseEntity<ErrorResponse> response = handler.handleException(
+                new ReplayedErrorException(ErrorCode.MEMBER_INACTIVE, "Member is not active"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("MEMBER_INACTIVE", response.getBody().getError());
+    }
+
+    @Test
+    void optimisticLock_GenericRetryMessage() {
+        ResponseEntity<ErrorResponse> response = handler.handleException(
+                new ObjectOptimisticLockingFailureException("Order", 1L));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Resource was modified by another request. Please retry.", response.getBody().getMessage());
+    }
+
+    @Test
+    void unmappedException_InternalErrorWithoutDetails() {
+        ResponseEntity<ErrorResponse> response = handler.handleException(new IllegalStateException("db password"));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("An unexpected error occurred", response.getBody().getMessage());
+    }
+}
@@ -0,0 +1,55 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.IdempotencyProperties;
+import com.sotatek.order.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class IdempotencyPurgeJobTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyPurgeJob job;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setPurgeBatchSize(2);
+        job = new IdempotencyPurgeJob(repository, properties);
+    }
+
+    @Test
+    void purgeExpired_DeletesInBatchesUntilShortBatch() {
+        when(repository.findExpiredKeys(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of("a", "b"), List.of("c"));
+        when(repository.deleteExpired(anyList(), any(LocalDateTime.class))).thenReturn(2, 1);
+
+        job.purgeExpired();
+
+        verify(repository).deleteExpired(eq(List.of("a", "b")), any(LocalDateTime.class));
+        verify(repository).deleteExpired(eq(List.of("c")), any(LocalDateTime.class));
+        verify(repository, times(2)).findExpiredKeys(any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void purgeExpired_NothingExpired_DeletesNothing() {
+        when(repository.findExpiredKeys(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        job.purgeExpired();
+
+        verify(repository, never()).deleteExpired(anyList(), any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,55 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.OutboxProperties;
+import com.sotatek.order.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class OrderOutboxPurgeJobTest {
+
+    @Mock
+    private OrderOutboxRepository repository;
+
+    private OrderOutboxPurgeJob job;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setPurgeBatchSize(2);
+        job = new OrderOutboxPurgeJob(repository, properties);
+    }
+
+    @Test
+    void purgeDelivered_DeletesInBatchesUntilShortBatch() {
+        when(repository.findDeliveredBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(repository.deleteDelivered(anyList(), any(LocalDateTime.class))).thenReturn(2, 1);
+
+        job.purgeDelivered();
+
+        verify(repository).deleteDelivered(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(repository).deleteDelivered(eq(List.of(3L)), any(LocalDateTime.class));
+        verify(repository, times(2)).findDeliveredBefore(any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void purgeDelivered_NothingOldEnough_DeletesNothing() {
+        when(repository.findDeliveredBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        job.purgeDelivered();
+
+        verify(repository, never()).deleteDelivered(anyList(), any(LocalDateTime.class));
+    }
+}
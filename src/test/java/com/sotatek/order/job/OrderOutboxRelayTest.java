@@ -0,0 +1,107 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.OutboxProperties;
+import com.sotatek.order.event.OrderEventPublisher;
+import com.sotatek.order.model.entity.OrderOutboxEvent;
+import com.sotatek.order.model.enums.OrderEventType;
+import com.sotatek.order.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OrderOutboxRepository orderOutboxRepository;
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        relay = new OrderOutboxRelay(orderOutboxRepository, orderEventPublisher, properties);
+    }
+
+    private OrderOutboxEvent event(long id) {
+        return OrderOutboxEvent.builder().id(id).orderId(id).eventType(OrderEventType.ORDER_CREATED)
+                .payload("{}").createdAt(LocalDateTime.now()).build();
+    }
+
+    @Test
+    void relay_ScansByKeysetAndMarksEachBatchDelivered() {
+        when(orderOutboxRepository.findClaimableAfter(eq(0L), anyString(), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(orderOutboxRepository.findClaimableAfter(eq(2L), anyString(), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(5L));
+        when(orderOutboxRepository.claim(anyList(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(orderOutboxRepository.findClaimed(eq(List.of(1L, 2L)), anyString()))
+                .thenReturn(List.of(event(1), event(2)));
+        when(orderOutboxRepository.findClaimed(eq(List.of(5L)), anyString())).thenReturn(List.of(event(5)));
+
+        relay.relay();
+
+        verify(orderEventPublisher, times(2)).publish(anyList());
+        verify(orderOutboxRepository).markDelivered(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(orderOutboxRepository).markDelivered(eq(List.of(5L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relay_RowsLeasedByAnotherInstance_OnlyPublishesRowsWon() {
+        when(orderOutboxRepository.findClaimableAfter(eq(0L), anyString(), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(orderOutboxRepository.findClaimableAfter(eq(2L), anyString(), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of());
+        // Another relay leased row 1 between the scan and the claim
+        when(orderOutboxRepository.claim(anyList(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(orderOutboxRepository.findClaimed(eq(List.of(1L, 2L)), anyString())).thenReturn(List.of(event(2)));
+
+        relay.relay();
+
+        verify(orderEventPublisher).publish(argThat(events -> events.size() == 1 && events.get(0).eventId() == 2L));
+        verify(orderOutboxRepository).markDelivered(eq(List.of(2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relay_NothingWon_PublishesNothing() {
+        when(orderOutboxRepository.findClaimableAfter(eq(0L), anyString(), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(1L));
+        when(orderOutboxRepository.claim(anyList(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        relay.relay();
+
+        verify(orderEventPublisher, never()).publish(anyList());
+        verify(orderOutboxRepository, never()).markDelivered(anyList(), any());
+    }
+
+    @Test
+    void relay_PublishFails_LeavesBatchUndelivered() {
+        when(orderOutboxRepository.findClaimableAfter(eq(0L), anyString(), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(1L));
+        when(orderOutboxRepository.claim(anyList(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(orderOutboxRepository.findClaimed(eq(List.of(1L)), anyString())).thenReturn(List.of(event(1)));
+        doThrow(new IllegalStateException("broker down")).when(orderEventPublisher).publish(anyList());
+
+        assertThrows(IllegalStateException.class, () -> relay.relay());
+
+        verify(orderOutboxRepository, never()).markDelivered(anyList(), any());
+    }
+}
@@ -0,0 +1,142 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.AsyncPaymentProperties;
+import com.sotatek.order.exception.PaymentOutcomeUnknownException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.entity.PaymentTask;
+import com.sotatek.order.repository.PaymentTaskRepository;
+import com.sotatek.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class PaymentTaskWorkerTest {
+
+    @Mock
+    private PaymentTaskRepository paymentTaskRepository;
+    @Mock
+    private OrderService orderService;
+
+    private AsyncPaymentProperties properties;
+    private PaymentTaskWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AsyncPaymentProperties();
+        properties.setMaxAttempts(3);
+        // Direct executor: claimed tasks run on the polling thread
+        worker = new PaymentTaskWorker(paymentTaskRepository, orderService, properties, Runnable::run);
+    }
+
+    private PaymentTask task(long id, int attempts) {
+        return PaymentTask.builder().id(id).orderId(100 + id).attempts(attempts).availableAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void pollDueTasks_ProcessesOnlyTasksItClaimed() {
+        when(paymentTaskRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(task(1, 0), task(2, 0)));
+        when(paymentTaskRepository.claim(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        when(paymentTaskRepository.claim(eq(2L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+
+        worker.pollDueTasks();
+
+        verify(orderService).completePayment(101L);
+        verify(orderService, never()).completePayment(102L);
+    }
+
+    @Test
+    void pollDueTasks_WorkersSaturated_StopsClaiming() {
+        properties.setWorkerThreads(1);
+        properties.setBatchSize(1);
+        List<Runnable> queued = new ArrayList<>();
+        worker = new PaymentTaskWorker(paymentTaskRepository, orderService, properties, queued::add);
+        when(paymentTaskRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenAnswer(invocation -> List.of(task(queued.size() + 1, 0)));
+        when(paymentTaskRepository.claim(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // One running, one queued; the third poll finds no room
+        worker.pollDueTasks();
+        worker.pollDueTasks();
+        worker.pollDueTasks();
+        verify(paymentTaskRepository, times(2)).findDue(any(LocalDateTime.class), any(Pageable.class));
+
+        queued.get(0).run();
+        worker.pollDueTasks();
+        verify(paymentTaskRepository, times(3)).findDue(any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void pollDueTasks_ExecutorRejects_HandsTaskBack() {
+        worker = new PaymentTaskWorker(paymentTaskRepository, orderService, properties, task -> {
+            throw new RejectedExecutionException("full");
+        });
+        when(paymentTaskRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(task(1, 0), task(2, 0)));
+        when(paymentTaskRepository.claim(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+
+        worker.pollDueTasks();
+
+        verify(paymentTaskRepository).unclaim(1L);
+        verify(paymentTaskRepository, never()).claim(eq(2L), any(), any());
+        verify(orderService, never()).completePayment(anyLong());
+    }
+
+    @Test
+    void process_UnknownOutcome_ParksOrderWithoutRetry() {
+        doThrow(new PaymentOutcomeUnknownException("Payment outcome is unknown: timed out"))
+                .when(orderService).completePayment(101L);
+
+        worker.process(task(1, 0));
+
+        verify(orderService).markPaymentUnknown(101L);
+        verify(orderService, never()).failPayment(anyLong());
+        verify(paymentTaskRepository, never()).reschedule(anyLong(), any(), any());
+    }
+
+    @Test
+    void process_ChargeAlreadyRequested_ParksOrderWithoutPaying() {
+        PaymentTask task = task(1, 0);
+        task.setChargeRequested(true);
+
+        worker.process(task);
+
+        verify(orderService).markPaymentUnknown(101L);
+        verify(orderService, never()).completePayment(anyLong());
+    }
+
+    @Test
+    void process_TransientFailure_ReschedulesTask() {
+        doThrow(new ServiceUnavailableException("down")).when(orderService).completePayment(101L);
+
+        worker.process(task(1, 0));
+
+        verify(paymentTaskRepository).reschedule(eq(1L), any(LocalDateTime.class), eq("down"));
+        verify(orderService, never()).failPayment(anyLong());
+    }
+
+    @Test
+    void process_LastAttemptFails_GivesUp() {
+        doThrow(new ServiceUnavailableException("down")).when(orderService).completePayment(101L);
+
+        worker.process(task(1, 2));
+
+        verify(orderService).failPayment(101L);
+        verify(paymentTaskRepository, never()).reschedule(anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,80 @@
+package com.sotatek.order.job;
+
+import com.sotatek.order.config.RefundRetryProperties;
+import com.sotatek.order.model.entity.Order;
+import com.sotatek.order.model.enums.OrderStatus;
+import com.sotatek.order.repository.OrderRepository;
+import com.sotatek.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class RefundRetryJobTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderService orderService;
+
+    private RefundRetryJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new RefundRetryJob(orderRepository, orderService, new RefundRetryProperties());
+    }
+
+    private Order cancelling(long id) {
+        return Order.builder().id(id).status(OrderStatus.CANCELLING).version(3L).build();
+    }
+
+    @Test
+    void retryRefunds_CompletesOnlyClaimedOrders() {
+        when(orderRepository.findByStatusAndUpdatedAtBefore(eq(OrderStatus.CANCELLING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(cancelling(1L), cancelling(2L)));
+        when(orderRepository.claimCancelling(eq(1L), eq(3L), any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.claimCancelling(eq(2L), eq(3L), any(LocalDateTime.class))).thenReturn(0);
+
+        job.retryRefunds();
+
+        verify(orderService).completeCancellation(1L);
+        verify(orderService, never()).completeCancellation(2L);
+    }
+
+    @Test
+    void retryRefunds_AttemptsExhausted_ParksOrderForReview() {
+        Order exhausted = cancelling(1L);
+        exhausted.setRefundAttempts(new RefundRetryProperties().getMaxAttempts());
+        when(orderRepository.findByStatusAndUpdatedAtBefore(eq(OrderStatus.CANCELLING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(exhausted, cancelling(2L)));
+        when(orderRepository.claimCancelling(anyLong(), eq(3L), any(LocalDateTime.class))).thenReturn(1);
+
+        job.retryRefunds();
+
+        verify(orderService).failRefund(1L);
+        verify(orderService, never()).completeCancellation(1L);
+        verify(orderService).completeCancellation(2L);
+    }
+
+    @Test
+    void retryRefunds_OneFailureDoesNotStopTheBatch() {
+        when(orderRepository.findByStatusAndUpdatedAtBefore(eq(OrderStatus.CANCELLING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(cancelling(1L), cancelling(2L)));
+        when(orderRepository.claimCancelling(anyLong(), eq(3L), any(LocalDateTime.class))).thenReturn(1);
+        doThrow(new IllegalStateException("boom")).when(orderService).completeCancellation(1L);
+
+        job.retryRefunds();
+
+        verify(orderService).completeCancellation(2L);
+    }
+}
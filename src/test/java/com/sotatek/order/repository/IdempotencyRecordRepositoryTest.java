@@ -0,0 +1,67 @@
+package com.sotatek.order.repository;
+
+import com.sotatek.order.config.JpaAuditingConfig;
+import com.sotatek.order.model.entity.IdempotencyRecord;
+import com.sotatek.order.model.enums.IdempotencyStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The owner token fences renew, complete and release: once another instance took
+ * a key over, the previous owner can no longer change it.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class IdempotencyRecordRepositoryTest {
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void ownerTokenFencesClaim() {
+        LocalDateTime now = LocalDateTime.now();
+        claim("key-1", "owner-a", now.minusSeconds(1));
+
+        // Lease of owner-a ran out; owner-b takes the key over
+        assertEquals(1, repository.takeOver("key-1", "owner-b", now, now.plusSeconds(30), now.plusHours(24)));
+
+        assertEquals(0, repository.renew("key-1", "owner-a", now.plusSeconds(30)));
+        assertEquals(0, repository.complete("key-1", "owner-a", IdempotencyStatus.COMPLETED, null, "{\"id\":1}",
+                now.plusHours(24)));
+        assertEquals(0, repository.release("key-1", "owner-a"));
+
+        assertEquals(1, repository.renew("key-1", "owner-b", now.plusSeconds(60)));
+        assertEquals(1, repository.complete("key-1", "owner-b", IdempotencyStatus.COMPLETED, null, "{\"id\":2}",
+                now.plusHours(24)));
+        entityManager.clear();
+        assertEquals("{\"id\":2}", repository.findById("key-1").orElseThrow().getResponse());
+    }
+
+    @Test
+    void takeOver_LiveLease_IsRefused() {
+        LocalDateTime now = LocalDateTime.now();
+        claim("key-2", "owner-a", now.plusSeconds(30));
+
+        assertEquals(0, repository.takeOver("key-2", "owner-b", now, now.plusSeconds(30), now.plusHours(24)));
+        assertEquals(1, repository.release("key-2", "owner-a"));
+    }
+
+    private void claim(String key, String owner, LocalDateTime lockedUntil) {
+        repository.saveAndFlush(IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .status(IdempotencyStatus.IN_PROGRESS)
+                .owner(owner)
+                .lockedUntil(lockedUntil)
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.sotatek.order.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs V4 against a database that already holds AUTO_INCREMENT ids, like one
+ * created before the sequences were introduced.
+ */
+class OrderIdSequenceMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:sequence-migration;DB_CLOSE_DELAY=-1";
+    private static final int ALLOCATION_SIZE = 50;
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void migrate_ExistingRows_SequencesStartAboveThem() throws SQLException {
+        flyway("3").migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 120; i++) {
+                statement.executeUpdate("INSERT INTO orders (member_id, status, total_amount, payment_method) "
+                        + "VALUES ('M001', 'CONFIRMED', 10.00, 'CREDIT_CARD')");
+                statement.executeUpdate("INSERT INTO order_items (order_id, product_id, product_name, quantity, "
+                        + "unit_price, subtotal) "
+                        + "VALUES ((SELECT MAX(id) FROM orders), 'P001', 'Product', 1, 10.00, 10.00)");
+            }
+        }
+
+        flyway(null).migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertFirstBlockAboveExistingIds(statement, "orders", "orders_seq");
+            assertFirstBlockAboveExistingIds(statement, "order_items", "order_items_seq");
+        }
+    }
+
+    @Test
+    void migrate_EmptyDatabase_Succeeds() throws SQLException {
+        flyway(null).migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertFirstBlockAboveExistingIds(statement, "orders", "orders_seq");
+        }
+    }
+
+    // The pooled optimizer uses the block of ids ending at the value it reads
+    private static void assertFirstBlockAboveExistingIds(Statement statement, String table, String sequence)
+            throws SQLException {
+        long maxId = single(statement, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        long next = single(statement, "SELECT NEXT VALUE FOR " + sequence);
+        assertTrue(next - ALLOCATION_SIZE + 1 > maxId,
+                sequence + " hands out " + (next - ALLOCATION_SIZE + 1) + ".." + next + " but " + table
+                        + " already holds id " + maxId);
+    }
+
+    private static long single(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static Flyway flyway(String target) {
+        var configuration = Flyway.configure().dataSource(URL, "sa", "");
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, "sa", "");
+    }
+}
@@ -0,0 +1,76 @@
+package com.sotatek.order.repository;
+
+import com.sotatek.order.config.JpaAuditingConfig;
+import com.sotatek.order.model.entity.OrderOutboxEvent;
+import com.sotatek.order.model.enums.OrderEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A leased batch belongs to one relay until its lease runs out; delivered rows
+ * are purged only once older than the cutoff.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+@SuppressWarnings("null")
+class OrderOutboxRepositoryTest {
+
+    @Autowired
+    private OrderOutboxRepository repository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void claim_LeasedRowsAreNotClaimableByAnotherRelay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(save(null).getId(), save(null).getId());
+        PageRequest limit = PageRequest.of(0, 10);
+
+        assertEquals(2, repository.claim(ids, "relay-a", now, now.plusSeconds(30)));
+        assertEquals(List.of(), repository.findClaimableAfter(0L, "relay-b", now, limit));
+        assertEquals(0, repository.claim(ids, "relay-b", now, now.plusSeconds(30)));
+        entityManager.clear();
+        assertEquals(2, repository.findClaimed(ids, "relay-a").size());
+
+        // relay-a went away; its lease runs out
+        LocalDateTime later = now.plusSeconds(31);
+        assertEquals(ids, repository.findClaimableAfter(0L, "relay-b", later, limit));
+        assertEquals(2, repository.claim(ids, "relay-b", later, later.plusSeconds(30)));
+        entityManager.clear();
+        assertEquals(List.of(), repository.findClaimed(ids, "relay-a"));
+    }
+
+    @Test
+    void deleteDelivered_OnlyRowsDeliveredBeforeCutoff() {
+        LocalDateTime now = LocalDateTime.now();
+        Long old = save(now.minusDays(8)).getId();
+        Long recent = save(now.minusHours(1)).getId();
+        Long undelivered = save(null).getId();
+        LocalDateTime cutoff = now.minusDays(7);
+
+        List<Long> expired = repository.findDeliveredBefore(cutoff, PageRequest.of(0, 10));
+
+        assertEquals(List.of(old), expired);
+        assertEquals(1, repository.deleteDelivered(List.of(old, recent, undelivered), cutoff));
+        entityManager.clear();
+        assertEquals(2, repository.count());
+    }
+
+    private OrderOutboxEvent save(LocalDateTime deliveredAt) {
+        return repository.saveAndFlush(OrderOutboxEvent.builder()
+                .orderId(1L)
+                .eventType(OrderEventType.ORDER_CREATED)
+                .payload("{}")
+                .deliveredAt(deliveredAt)
+                .build());
+    }
+}
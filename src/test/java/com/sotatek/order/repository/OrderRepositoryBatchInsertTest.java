@@ -0,0 +1,70 @@
+package com.sotatek.order.repository;
+
+import com.sotatek.order.config.JpaAuditingConfig;
+import com.sotatek.order.model.entity.Order;
+import com.sotatek.order.model.entity.OrderItem;
+import com.sotatek.order.model.enums.OrderStatus;
+import com.sotatek.order.model.enums.PaymentMethod;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JpaAuditingConfig.class)
+class OrderRepositoryBatchInsertTest {
+
+    private static final int ITEM_COUNT = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void save_MultiItemOrder_BatchesItemInserts() {
+        Order order = Order.builder()
+                .memberId("M001")
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("500.00"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            order.addItem(OrderItem.builder()
+                    .productId("P" + i)
+                    .productName("Product " + i)
+                    .quantity(1)
+                    .unitPrice(BigDecimal.TEN)
+                    .build());
+        }
+
+        orderRepository.save(order);
+        entityManager.flush();
+
+        assertEquals(ITEM_COUNT + 1, statistics.getEntityInsertCount());
+        // A few pooled sequence calls, one orders insert and one batched order_items insert;
+        // identity generation needed one statement per row
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -0,0 +1,294 @@
+package com.sotatek.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sotatek.order.config.IdempotencyProperties;
+import com.sotatek.order.exception.ErrorCode;
+import com.sotatek.order.exception.IdempotencyKeyInProgressException;
+import com.sotatek.order.exception.MemberInactiveException;
+import com.sotatek.order.exception.ReplayedErrorException;
+import com.sotatek.order.exception.ServiceUnavailableException;
+import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.entity.Order;
+import com.sotatek.order.model.entity.IdempotencyRecord;
+import com.sotatek.order.model.enums.IdempotencyStatus;
+import com.sotatek.order.model.enums.OrderStatus;
+import com.sotatek.order.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("null")
+class IdempotencyServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private IdempotencyRecordRepository repository;
+    private IdempotencyProperties properties;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofMillis(50));
+        properties.setPollInterval(Duration.ofMillis(10));
+        idempotencyService = new IdempotencyService(repository, objectMapper, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyService.close();
+    }
+
+    @Test
+    void getOrCompute_ConcurrentDuplicates_RunOnceAndShareResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CompletableFuture<OrderResponse> first = CompletableFuture.supplyAsync(
+                    () -> idempotencyService.getOrCompute("key-1", () -> {
+                        calls.incrementAndGet();
+                        started.countDown();
+                        await(release);
+                        return OrderResponse.builder().id(1L).build();
+                    }), executor);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<OrderResponse> duplicate = CompletableFuture.supplyAsync(
+                    () -> idempotencyService.getOrCompute("key-1", () -> {
+                        calls.incrementAndGet();
+                        return OrderResponse.builder().id(2L).build();
+                    }), executor);
+
+            // An unrelated key is not blocked by the one in flight
+            OrderResponse other = idempotencyService.getOrCompute("key-2",
+                    () -> OrderResponse.builder().id(3L).build());
+            assertEquals(3L, other.getId());
+
+            release.countDown();
+            assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(1L, duplicate.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrCompute_BusinessError_IsReplayed() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(MemberInactiveException.class, () -> idempotencyService.getOrCompute("key-1", () -> {
+                calls.incrementAndGet();
+                throw new MemberInactiveException("Member is not active");
+            }));
+        }
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void getOrCompute_TransientError_IsNotStored() {
+        assertThrows(ServiceUnavailableException.class, () -> idempotencyService.getOrCompute("key-1", () -> {
+            throw new ServiceUnavailableException("Payment service is temporarily unavailable");
+        }));
+
+        OrderResponse response = idempotencyService.getOrCompute("key-1",
+                () -> OrderResponse.builder().id(1L).build());
+
+        assertEquals(1L, response.getId());
+    }
+
+    @Test
+    void getOrCompute_Success_StoredForOtherInstances() {
+        idempotencyService.getOrCompute("key-1", () -> OrderResponse.builder().id(1L).build());
+
+        verify(repository).saveAndFlush(argThat((IdempotencyRecord record) -> record.getStatus() == IdempotencyStatus.IN_PROGRESS));
+        verify(repository).complete(eq("key-1"), anyString(), eq(IdempotencyStatus.COMPLETED), isNull(),
+                contains("\"id\":1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getOrCompute_CompletedOnAnotherInstance_ReplaysWithoutRunning() throws Exception {
+        String json = objectMapper.writeValueAsString(
+                OrderResponse.builder().id(7L).status(OrderStatus.CONFIRMED).build());
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.findById("key-1")).thenReturn(Optional.of(storedRecord(IdempotencyStatus.COMPLETED, null, json)));
+
+        OrderResponse response = idempotencyService.getOrCompute("key-1", () -> fail("must not run"));
+
+        assertEquals(7L, response.getId());
+        assertEquals(OrderStatus.CONFIRMED, response.getStatus());
+    }
+
+    @Test
+    void getOrCompute_FailedOnAnotherInstance_ReplaysErrorCode() {
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.findById("key-1")).thenReturn(Optional.of(
+                storedRecord(IdempotencyStatus.FAILED, ErrorCode.MEMBER_INACTIVE.name(), "Member is not active")));
+
+        ReplayedErrorException e = assertThrows(ReplayedErrorException.class,
+                () -> idempotencyService.getOrCompute("key-1", () -> fail("must not run")));
+
+        assertEquals(ErrorCode.MEMBER_INACTIVE, e.getErrorCode());
+        assertEquals("Member is not active", e.getMessage());
+    }
+
+    @Test
+    void getOrCompute_InProgressOnAnotherInstance_ConflictAfterWaitTimeout() {
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.findById("key-1")).thenReturn(Optional.of(storedRecord(IdempotencyStatus.IN_PROGRESS, null, null)));
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.getOrCompute("key-1", () -> fail("must not run")));
+    }
+
+    @Test
+    void getOrCompute_AbandonedClaim_TakenOverAndRun() {
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.findById("key-1")).thenReturn(Optional.of(storedRecord(IdempotencyStatus.IN_PROGRESS, null, null)));
+        when(repository.takeOver(eq("key-1"), anyString(), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        OrderResponse response = idempotencyService.getOrCompute("key-1",
+                () -> OrderResponse.builder().id(3L).build());
+
+        assertEquals(3L, response.getId());
+    }
+
+    @Test
+    void getOrCompute_TransientError_ReleasesClaim() {
+        assertThrows(ServiceUnavailableException.class, () -> idempotencyService.getOrCompute("key-1", () -> {
+            throw new ServiceUnavailableException("Payment service is temporarily unavailable");
+        }));
+
+        verify(repository).release(eq("key-1"), anyString());
+        verify(repository, never()).complete(anyString(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getOrCompute_ConcurrentModification_ReleasedAndRunAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> idempotencyService.getOrCompute("key-1",
+                () -> {
+                    calls.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException(Order.class, 1L);
+                }));
+        verify(repository).release(eq("key-1"), anyString());
+
+        OrderResponse response = idempotencyService.getOrCompute("key-1", () -> {
+            calls.incrementAndGet();
+            return OrderResponse.builder().id(1L).build();
+        });
+
+        assertEquals(1L, response.getId());
+        assertEquals(2, calls.get());
+        verify(repository, never()).complete(anyString(), anyString(), eq(IdempotencyStatus.FAILED), any(), any(),
+                any());
+    }
+
+    @Test
+    void getOrCompute_KeyInProgressConflict_IsNotStored() {
+        assertThrows(IdempotencyKeyInProgressException.class, () -> idempotencyService.getOrCompute("key-1", () -> {
+            throw new IdempotencyKeyInProgressException("Request with this key is still in progress");
+        }));
+
+        verify(repository).release(eq("key-1"), anyString());
+        verify(repository, never()).complete(anyString(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getOrCompute_SlowRequest_LeaseRenewedUnderItsOwnToken() {
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        when(repository.renew(eq("key-1"), anyString(), any(LocalDateTime.class))).thenReturn(1);
+
+        idempotencyService.getOrCompute("key-1", () -> {
+            idempotencyService.renewClaims();
+            return OrderResponse.builder().id(1L).build();
+        });
+
+        verify(repository).saveAndFlush(claim.capture());
+        String owner = claim.getValue().getOwner();
+        assertNotNull(owner);
+        verify(repository).renew(eq("key-1"), eq(owner), any(LocalDateTime.class));
+        verify(repository).complete(eq("key-1"), eq(owner), eq(IdempotencyStatus.COMPLETED), isNull(), anyString(),
+                any(LocalDateTime.class));
+
+        // Nothing left to renew once the outcome is stored
+        idempotencyService.renewClaims();
+        verify(repository, times(1)).renew(anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getOrCompute_ClaimLostToTakeover_StopsRenewing() {
+        when(repository.renew(eq("key-1"), anyString(), any(LocalDateTime.class))).thenReturn(0);
+
+        idempotencyService.getOrCompute("key-1", () -> {
+            idempotencyService.renewClaims();
+            idempotencyService.renewClaims();
+            return OrderResponse.builder().id(1L).build();
+        });
+
+        verify(repository, times(1)).renew(anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getOrCompute_TakenOver_RunsUnderNewOwnerToken() {
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.findById("key-1")).thenReturn(Optional.of(storedRecord(IdempotencyStatus.IN_PROGRESS, null, null)));
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        when(repository.takeOver(eq("key-1"), owner.capture(), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        idempotencyService.getOrCompute("key-1", () -> OrderResponse.builder().id(3L).build());
+
+        verify(repository).complete(eq("key-1"), eq(owner.getValue()), eq(IdempotencyStatus.COMPLETED), isNull(),
+                anyString(), any(LocalDateTime.class));
+    }
+
+    private IdempotencyRecord storedRecord(IdempotencyStatus status, String errorCode, String response) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey("key-1")
+                .status(status)
+                .errorCode(errorCode)
+                .response(response)
+                .lockedUntil(status == IdempotencyStatus.IN_PROGRESS ? LocalDateTime.now().plusMinutes(1) : null)
+                .owner(status == IdempotencyStatus.IN_PROGRESS ? "other-instance" : null)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.sotatek.order.service;
+
+import com.sotatek.order.config.OrderCacheProperties;
+import com.sotatek.order.model.dto.response.OrderItemResponse;
+import com.sotatek.order.model.dto.response.OrderResponse;
+import com.sotatek.order.model.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderResponseCacheTest {
+
+    private final OrderResponseCache cache = new OrderResponseCache(new OrderCacheProperties(),
+            new SimpleMeterRegistry());
+
+    @Test
+    void callerChanges_DoNotReachTheCachedEntry() {
+        OrderResponse stored = order(OrderStatus.CONFIRMED, 1L);
+        cache.put(stored);
+        stored.setStatus(OrderStatus.CANCELLED);
+        stored.getItems().get(0).setQuantity(99);
+
+        OrderResponse first = cache.get(1L, Optional::empty).orElseThrow();
+        first.setStatus(OrderStatus.PAYMENT_FAILED);
+        first.getItems().get(0).setQuantity(42);
+        OrderResponse second = cache.get(1L, Optional::empty).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(OrderStatus.CONFIRMED, second.getStatus());
+        assertEquals(2, second.getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void put_OlderVersion_KeepsNewerEntry() {
+        cache.put(order(OrderStatus.CANCELLED, 2L));
+        cache.put(order(OrderStatus.CONFIRMED, 1L));
+
+        assertEquals(OrderStatus.CANCELLED, cache.get(1L, Optional::empty).orElseThrow().getStatus());
+    }
+
+    private static OrderResponse order(OrderStatus status, long version) {
+        OrderItemResponse item = OrderItemResponse.builder().productId("P001").quantity(2).build();
+        return OrderResponse.builder()
+                .id(1L)
+                .status(status)
+                .items(new ArrayList<>(List.of(item)))
+                .version(version)
+                .build();
+    }
+}
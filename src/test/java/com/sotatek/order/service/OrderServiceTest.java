@@ -3,37 +3,67 @@ package com.sotatek.order.service;
 import com.sotatek.order.client.MemberClient;
 import com.sotatek.order.client.PaymentClient;
 import com.sotatek.order.client.ProductClient;
+import com.sotatek.order.config.AsyncPaymentProperties;
+import com.sotatek.order.config.OrderCacheProperties;
+import com.sotatek.order.config.StockReservationProperties;
+import com.sotatek.order.config.ValidationProperties;
 import com.sotatek.order.exception.*;
 import com.sotatek.order.model.dto.external.MemberResponse;
 import com.sotatek.order.model.dto.external.PaymentRequest;
 import com.sotatek.order.model.dto.external.PaymentResponse;
 import com.sotatek.order.model.dto.external.ProductResponse;
 import com.sotatek.order.model.dto.external.ProductStockResponse;
+import com.sotatek.order.model.dto.request.BatchCancelOrderRequest;
+import com.sotatek.order.model.dto.request.BatchCreateOrderRequest;
 import com.sotatek.order.model.dto.request.CreateOrderRequest;
 import com.sotatek.order.model.dto.request.OrderItemRequest;
 import com.sotatek.order.model.dto.request.UpdateOrderRequest;
+import com.sotatek.order.model.dto.response.BatchCancelResponse;
+import com.sotatek.order.model.dto.response.BatchCancelResult;
+import com.sotatek.order.model.dto.response.BatchOrderResponse;
 import com.sotatek.order.model.dto.response.OrderResponse;
 import com.sotatek.order.model.entity.Order;
 import com.sotatek.order.model.entity.OrderItem;
+import com.sotatek.order.model.entity.PaymentTask;
+import com.sotatek.order.model.enums.OrderEventType;
 import com.sotatek.order.model.enums.OrderStatus;
 import com.sotatek.order.model.enums.PaymentMethod;
+import com.sotatek.order.repository.OrderReadRepository;
 import com.sotatek.order.repository.OrderRepository;
+import com.sotatek.order.repository.PaymentTaskRepository;
+import com.sotatek.order.repository.StockReservationRepository;
 import com.sotatek.order.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,16 +76,21 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private MemberClient memberClient;
+    private OrderReadRepository orderReadRepository;
     @Mock
-    private ProductClient productClient;
+    private PaymentTaskRepository paymentTaskRepository;
     @Mock
+    private OrderOutbox orderOutbox;
+    private MemberClient memberClient;
+    private ProductClient productClient;
     private PaymentClient paymentClient;
+    @Mock
+    private StockReservationRepository stockReservationRepository;
 
-    @InjectMocks
     private OrderServiceImpl orderService;
 
     private CreateOrderRequest createRequest;
+    private StockReservationService stockReservationService;
     private Order order;
     private MemberResponse activeMember;
     private ProductResponse availableProduct;
@@ -64,6 +99,12 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
+        memberClient = mockClient(MemberClient.class);
+        productClient = mockClient(ProductClient.class);
+        paymentClient = mockClient(PaymentClient.class);
+        // Direct executor keeps the parallel lookup stage deterministic in unit tests
+        orderService = newOrderService(Runnable::run);
+
         OrderItemRequest itemRequest = new OrderItemRequest();
         itemRequest.setProductId("P001");
         itemRequest.setQuantity(2);
@@ -98,12 +139,68 @@ class OrderServiceTest {
         completedPayment = PaymentResponse.builder().id(1L).status("COMPLETED").transactionId("TXN-123").build();
     }
 
+    /**
+     * The service calls the async client variants; unless stubbed directly they
+     * answer through the synchronous method, so tests stub and verify that one.
+     */
+    private static <T> T mockClient(Class<T> type) {
+        return mock(type, withSettings().defaultAnswer(invocation -> {
+            Method method = invocation.getMethod();
+            if (!method.getName().endsWith("Async")) {
+                return RETURNS_DEFAULTS.answer(invocation);
+            }
+            Method sync = type.getMethod(method.getName().replace("Async", ""), method.getParameterTypes());
+            try {
+                return CompletableFuture.completedFuture(sync.invoke(invocation.getMock(), invocation.getArguments()));
+            } catch (InvocationTargetException e) {
+                return CompletableFuture.failedFuture(e.getCause());
+            }
+        }));
+    }
+
+    private OrderServiceImpl newOrderService(Executor downstreamExecutor) {
+        stockReservationService = new StockReservationService(stockReservationRepository,
+                new StockReservationProperties());
+        return new OrderServiceImpl(orderRepository, orderReadRepository, paymentTaskRepository, memberClient, productClient,
+                paymentClient, downstreamExecutor, new ValidationProperties(), new AsyncPaymentProperties(),
+                new OrderResponseCache(new OrderCacheProperties(), new SimpleMeterRegistry()), orderOutbox,
+                stockReservationService, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    // Saved orders are served back by the locking read that settles the payment
+    private Map<Long, Order> stubOrderPersistence() {
+        Map<Long, Order> saved = new HashMap<>();
+        AtomicLong ids = new AtomicLong();
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order o = invocation.getArgument(0);
+            if (o.getId() == null) {
+                o.setId(ids.incrementAndGet());
+            }
+            saved.put(o.getId(), o);
+            return o;
+        });
+        when(orderRepository.findByIdWithLock(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(saved.get(invocation.<Long>getArgument(0))));
+        return saved;
+    }
+
+    private OrderResponse orderResponse(Long id) {
+        return OrderResponse.builder()
+                .id(id)
+                .memberId("M001")
+                .items(List.of())
+                .totalAmount(new BigDecimal("199.98"))
+                .status(OrderStatus.CONFIRMED)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build();
+    }
+
     @Test
     void createOrder_Success() {
         when(memberClient.getMember(anyString())).thenReturn(activeMember);
         when(productClient.getProduct(anyString())).thenReturn(availableProduct);
         when(productClient.getStock(anyString())).thenReturn(abundantStock);
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+        stubOrderPersistence();
         when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
 
         OrderResponse response = orderService.createOrder(createRequest);
@@ -111,6 +208,75 @@ class OrderServiceTest {
         assertNotNull(response);
         assertEquals(OrderStatus.CONFIRMED, response.getStatus());
         verify(orderRepository, times(2)).save(any(Order.class));
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_CREATED), any(OrderResponse.class));
+        verify(orderOutbox).record(OrderEventType.ORDER_CONFIRMED, response);
+        // Recovery task written with the PENDING order, removed once settled
+        verify(paymentTaskRepository).save(any(PaymentTask.class));
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+    }
+
+    @Test
+    void createOrder_PaymentServiceDown_LeavesPendingOrderForRecovery() {
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProduct(anyString())).thenReturn(availableProduct);
+        when(productClient.getStock(anyString())).thenReturn(abundantStock);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Payment service is temporarily unavailable"));
+
+        assertThrows(ServiceUnavailableException.class, () -> orderService.createOrder(createRequest));
+
+        verify(paymentTaskRepository).save(argThat((PaymentTask task) -> task.getAvailableAt().isAfter(LocalDateTime.now())
+                && task.getChargeRequested()));
+        // The request never reached the provider, so the recovery task may send it
+        verify(paymentTaskRepository).markChargeRequested(1L, false);
+        verify(paymentTaskRepository, never()).deleteByOrderId(anyLong());
+        verify(orderRepository, never()).findByIdWithLock(anyLong());
+    }
+
+    @Test
+    void createOrder_Confirmed_CommitsStockHold() {
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProduct(anyString())).thenReturn(availableProduct);
+        when(productClient.getStock(anyString())).thenReturn(abundantStock);
+        stubOrderPersistence();
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
+
+        orderService.createOrder(createRequest);
+
+        verify(stockReservationRepository).saveAll(anyList());
+        verify(stockReservationRepository).deleteByOrderId(1L);
+        assertEquals(0, stockReservationService.reservedQuantity("P001"));
+    }
+
+    @Test
+    void createOrder_StockHeldByUnpaidOrder_ThrowsInsufficientStock() {
+        abundantStock.setAvailableQuantity(3);
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProduct(anyString())).thenReturn(availableProduct);
+        when(productClient.getStock(anyString())).thenReturn(abundantStock);
+        stubOrderPersistence();
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Payment service is temporarily unavailable"));
+
+        // First order stays PENDING and keeps holding 2 of the 3 units
+        assertThrows(ServiceUnavailableException.class, () -> orderService.createOrder(createRequest));
+        assertEquals(2, stockReservationService.reservedQuantity("P001"));
+
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(createRequest));
+        verify(orderRepository, times(1)).save(any(Order.class));
+    }
+
+    @Test
+    void completePayment_PaymentDeclined_ReleasesStockHold() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenReturn(PaymentResponse.builder().status("FAILED").build());
+
+        orderService.completePayment(1L);
+
+        verify(stockReservationRepository).deleteByOrderId(1L);
     }
 
     @Test
@@ -160,14 +326,16 @@ class OrderServiceTest {
         when(memberClient.getMember(anyString())).thenReturn(activeMember);
         when(productClient.getProduct(anyString())).thenReturn(availableProduct);
         when(productClient.getStock(anyString())).thenReturn(abundantStock);
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+        stubOrderPersistence();
 
         PaymentResponse failedPayment = PaymentResponse.builder().id(1L).status("FAILED").build();
         when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(failedPayment);
 
         assertThrows(PaymentFailedException.class, () -> orderService.createOrder(createRequest));
-        // Verify: 1st save (initial PENDING) + 2nd save (compensation PAYMENT_FAILED)
-        verify(orderRepository, times(2)).save(any(Order.class));
+        // PENDING committed first, PAYMENT_FAILED applied in the settle transaction
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_PAYMENT_FAILED), any(OrderResponse.class));
+        verify(paymentTaskRepository).deleteByOrderId(1L);
     }
 
     @Test
@@ -193,7 +361,7 @@ class OrderServiceTest {
         when(productClient.getProduct("P001")).thenReturn(product1);
         when(productClient.getProduct("P002")).thenReturn(product2);
         when(productClient.getStock(anyString())).thenReturn(abundantStock);
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+        stubOrderPersistence();
         when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
 
         OrderResponse response = orderService.createOrder(createRequest);
@@ -217,34 +385,311 @@ class OrderServiceTest {
         when(memberClient.getMember(anyString())).thenReturn(activeMember);
         when(productClient.getProduct(anyString())).thenReturn(availableProduct);
         when(productClient.getStock(anyString())).thenReturn(abundantStock);
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+        stubOrderPersistence();
         when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(null);
 
         assertThrows(PaymentFailedException.class, () -> orderService.createOrder(createRequest));
-        verify(orderRepository, times(2)).save(any(Order.class)); // PENDING + PAYMENT_FAILED
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_PAYMENT_FAILED), any(OrderResponse.class));
+    }
+
+    @Test
+    void acceptOrder_StoresPendingOrderAndTaskWithoutPaying() {
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProduct(anyString())).thenReturn(availableProduct);
+        when(productClient.getStock(anyString())).thenReturn(abundantStock);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+
+        OrderResponse response = orderService.acceptOrder(createRequest);
+
+        assertEquals(OrderStatus.PENDING, response.getStatus());
+        verify(paymentTaskRepository).save(argThat((PaymentTask task) -> task.getOrderId().equals(1L)));
+        verify(orderOutbox).record(OrderEventType.ORDER_CREATED, response);
+        verifyNoInteractions(paymentClient);
+    }
+
+    @Test
+    void completePayment_ConfirmsOrderAndRemovesTask() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
+
+        orderService.completePayment(1L);
+
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals("TXN-123", order.getPaymentTransactionId());
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_CONFIRMED), any(OrderResponse.class));
+    }
+
+    @Test
+    void completePayment_PaymentDeclined_MarksPaymentFailed() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenReturn(PaymentResponse.builder().status("FAILED").build());
+
+        orderService.completePayment(1L);
+
+        assertEquals(OrderStatus.PAYMENT_FAILED, order.getStatus());
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+    }
+
+    @Test
+    void completePayment_FlagsTaskBeforeCallingProvider() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
+
+        orderService.completePayment(1L);
+
+        InOrder inOrder = inOrder(paymentTaskRepository, paymentClient);
+        inOrder.verify(paymentTaskRepository).markChargeRequested(1L, true);
+        inOrder.verify(paymentClient).createPaymentAsync(any(PaymentRequest.class));
+    }
+
+    @Test
+    void completePayment_PaymentRejected_MarksPaymentFailedWithoutRetry() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenThrow(new PaymentFailedException("Unsupported card"));
+
+        orderService.completePayment(1L);
+
+        assertEquals(OrderStatus.PAYMENT_FAILED, order.getStatus());
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+    }
+
+    @Test
+    void completePayment_RequestNotSent_ClearsFlag() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Payment service is temporarily unavailable"));
+
+        assertThrows(ServiceUnavailableException.class, () -> orderService.completePayment(1L));
+
+        verify(paymentTaskRepository).markChargeRequested(1L, false);
+    }
+
+    @Test
+    void completePayment_OutcomeUnknown_KeepsFlag() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenThrow(new PaymentOutcomeUnknownException("Payment outcome is unknown: Read timed out"));
+
+        assertThrows(PaymentOutcomeUnknownException.class, () -> orderService.completePayment(1L));
+
+        verify(paymentTaskRepository, never()).markChargeRequested(1L, false);
+    }
+
+    @Test
+    void completePayment_OrderNoLongerPending_OnlyRemovesTask() {
+        order.setStatus(OrderStatus.CANCELLED);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.completePayment(1L);
+
+        verifyNoInteractions(paymentClient);
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+    }
+
+    @Test
+    void completePayment_SettledByRequestThreadMeanwhile_KeepsOutcome() {
+        PaymentResponse declined = PaymentResponse.builder().status("FAILED").build();
+        Order confirmed = Order.builder().id(1L).status(OrderStatus.CONFIRMED).items(List.of()).build();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(declined);
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(confirmed));
+
+        orderService.completePayment(1L);
+
+        assertEquals(OrderStatus.CONFIRMED, confirmed.getStatus());
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+        verifyNoInteractions(orderOutbox);
+    }
+
+    @Test
+    void completePayment_CancelledWhilePaying_QueuesRefund() {
+        Order cancelled = Order.builder().id(1L).status(OrderStatus.CANCELLED).items(List.of()).build();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(cancelled));
+
+        orderService.completePayment(1L);
+
+        assertEquals(OrderStatus.CANCELLING, cancelled.getStatus());
+        assertEquals("TXN-123", cancelled.getPaymentTransactionId());
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+        // ORDER_CANCELLED was recorded by the cancel; the late charge is not a second cancel
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_REFUND_PENDING), any(OrderResponse.class));
+        verify(orderOutbox, never()).record(eq(OrderEventType.ORDER_CANCELLED), any(OrderResponse.class));
+    }
+
+    @Test
+    void completePayment_PaymentServiceDown_KeepsTaskForRetry() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentClient.createPayment(any(PaymentRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Payment service is temporarily unavailable"));
+
+        assertThrows(ServiceUnavailableException.class, () -> orderService.completePayment(1L));
+        verify(paymentTaskRepository, never()).deleteByOrderId(anyLong());
+    }
+
+    @Test
+    void markPaymentUnknown_PendingOrder_ParkedWithoutRelease() {
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(order));
+
+        orderService.markPaymentUnknown(1L);
+
+        assertEquals(OrderStatus.PAYMENT_UNKNOWN, order.getStatus());
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_PAYMENT_UNKNOWN), any(OrderResponse.class));
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+        verify(stockReservationRepository, never()).deleteByOrderId(anyLong());
+        // Held like a paid order, past the 15 minute hold of an unpaid one
+        verify(stockReservationRepository).extendByOrderId(eq(1L),
+                argThat(expiresAt -> expiresAt.isAfter(LocalDateTime.now().plusHours(23))));
+    }
+
+    @Test
+    void cancelOrder_PaymentUnknown_IsRejected() {
+        order.setStatus(OrderStatus.PAYMENT_UNKNOWN);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        UpdateOrderRequest request = new UpdateOrderRequest();
+        request.setStatus(OrderStatus.CANCELLED);
+
+        assertThrows(InvalidOrderStatusException.class, () -> orderService.cancelOrder(1L, request));
+        verifyNoInteractions(paymentClient);
+    }
+
+    @Test
+    void createOrders_SharesLookupsAndStockAcrossBatch() {
+        CreateOrderRequest second = new CreateOrderRequest();
+        second.setMemberId("M001");
+        second.setItems(createRequest.getItems());
+        second.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        CreateOrderRequest unknownMember = new CreateOrderRequest();
+        unknownMember.setMemberId("M404");
+        unknownMember.setItems(createRequest.getItems());
+        unknownMember.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        BatchCreateOrderRequest batch = new BatchCreateOrderRequest();
+        batch.setOrders(List.of(createRequest, second, unknownMember));
+
+        when(memberClient.getMember("M001")).thenReturn(activeMember);
+        when(memberClient.getMember("M404")).thenThrow(new MemberNotFoundException("Member not found: M404"));
+        when(productClient.getProducts(anyCollection())).thenReturn(Map.of("P001", availableProduct));
+        // Enough for one order of 2, not two
+        when(productClient.getStocks(anyCollection())).thenReturn(Map.of("P001",
+                ProductStockResponse.builder().productId("P001").availableQuantity(3).build()));
+        stubOrderPersistence();
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
+
+        BatchOrderResponse response = orderService.createOrders(batch);
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals(OrderStatus.CONFIRMED, response.getResults().get(0).getOrder().getStatus());
+        assertEquals("INSUFFICIENT_STOCK", response.getResults().get(1).getError());
+        assertEquals("MEMBER_NOT_FOUND", response.getResults().get(2).getError());
+        verify(memberClient, times(1)).getMember("M001");
+        verify(productClient, times(1)).getProducts(anyCollection());
+        verify(productClient, never()).getProduct(anyString());
+    }
+
+    @Test
+    void createOrders_PaymentFailure_DoesNotAbortOtherOrders() {
+        BatchCreateOrderRequest batch = new BatchCreateOrderRequest();
+        batch.setOrders(List.of(createRequest, createRequest));
+        PaymentResponse failedPayment = PaymentResponse.builder().status("FAILED").build();
+
+        when(memberClient.getMember("M001")).thenReturn(activeMember);
+        when(productClient.getProducts(anyCollection())).thenReturn(Map.of("P001", availableProduct));
+        when(productClient.getStocks(anyCollection())).thenReturn(Map.of("P001", abundantStock));
+        stubOrderPersistence();
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(failedPayment, completedPayment);
+
+        BatchOrderResponse response = orderService.createOrders(batch);
+
+        assertEquals("PAYMENT_FAILED", response.getResults().get(0).getError());
+        assertTrue(response.getResults().get(1).isSuccess());
+        // Both stored PENDING with recovery tasks, both settled
+        verify(paymentTaskRepository, times(2)).save(any(PaymentTask.class));
+        verify(paymentTaskRepository, times(2)).deleteByOrderId(anyLong());
+    }
+
+    @Test
+    void createOrders_SettleConflict_FailsOnlyThatOrder() {
+        BatchCreateOrderRequest batch = new BatchCreateOrderRequest();
+        batch.setOrders(List.of(createRequest, createRequest));
+
+        when(memberClient.getMember("M001")).thenReturn(activeMember);
+        when(productClient.getProducts(anyCollection())).thenReturn(Map.of("P001", availableProduct));
+        when(productClient.getStocks(anyCollection())).thenReturn(Map.of("P001", abundantStock));
+        stubOrderPersistence();
+        // The payment worker updated the second order meanwhile
+        doThrow(new ObjectOptimisticLockingFailureException(Order.class, 2L))
+                .when(orderRepository).findByIdWithLock(2L);
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
+
+        BatchOrderResponse response = orderService.createOrders(batch);
+
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals(OrderStatus.CONFIRMED, response.getResults().get(0).getOrder().getStatus());
+        assertEquals("CONCURRENT_MODIFICATION", response.getResults().get(1).getError());
+        assertEquals(1, response.getSucceeded());
+        // The second order keeps its payment task for the worker
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+        verify(paymentTaskRepository, never()).deleteByOrderId(2L);
     }
 
     @Test
     void getOrder_Success() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+        when(orderReadRepository.findById(anyLong())).thenReturn(Optional.of(orderResponse(1L)));
 
         OrderResponse response = orderService.getOrder(1L);
 
         assertNotNull(response);
         assertEquals(1L, response.getId());
         assertEquals("M001", response.getMemberId());
+        verify(orderRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getOrder_SecondReadServedFromCache() {
+        when(orderReadRepository.findById(1L)).thenReturn(Optional.of(orderResponse(1L)));
+
+        orderService.getOrder(1L);
+        OrderResponse response = orderService.getOrder(1L);
+
+        assertEquals(1L, response.getId());
+        verify(orderReadRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getOrder_AfterCancel_ReturnsCancelledWithoutReload() {
+        when(orderReadRepository.findById(1L)).thenReturn(Optional.of(orderResponse(1L)));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        orderService.getOrder(1L);
+
+        UpdateOrderRequest updateRequest = new UpdateOrderRequest();
+        updateRequest.setStatus(OrderStatus.CANCELLED);
+        orderService.cancelOrder(1L, updateRequest);
+
+        assertEquals(OrderStatus.CANCELLED, orderService.getOrder(1L).getStatus());
+        verify(orderReadRepository, times(1)).findById(1L);
     }
 
     @Test
     void getOrder_NotFound() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(orderReadRepository.findById(anyLong())).thenReturn(Optional.empty());
         assertThrows(OrderNotFoundException.class, () -> orderService.getOrder(1L));
     }
 
     @Test
     void listOrders_Success() {
-        Page<Order> orderPage = new PageImpl<>(List.of(order));
-        when(orderRepository.findAll(any(PageRequest.class))).thenReturn(orderPage);
+        when(orderRepository.findIds(any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(1L)));
+        when(orderReadRepository.findAllByIds(List.of(1L))).thenReturn(List.of(orderResponse(1L)));
 
         Page<OrderResponse> response = orderService.listOrders(PageRequest.of(0, 10));
 
@@ -252,9 +697,25 @@ class OrderServiceTest {
         assertEquals(1, response.getTotalElements());
     }
 
+    @Test
+    void listOrders_LoadsWholePageWithOneProjectionQuery() {
+        PageRequest pageRequest = PageRequest.of(0, 2);
+        when(orderRepository.findIds(pageRequest)).thenReturn(new PageImpl<>(List.of(2L, 1L), pageRequest, 5));
+        when(orderReadRepository.findAllByIds(List.of(2L, 1L)))
+                .thenReturn(List.of(orderResponse(2L), orderResponse(1L)));
+
+        Page<OrderResponse> response = orderService.listOrders(pageRequest);
+
+        assertEquals(List.of(2L, 1L), response.getContent().stream().map(OrderResponse::getId).toList());
+        assertEquals(5, response.getTotalElements());
+        verify(orderReadRepository, times(1)).findAllByIds(anyList());
+        verify(orderRepository, never()).findAll(any(PageRequest.class));
+    }
+
     @Test
     void listOrders_Empty() {
-        when(orderRepository.findAll(any(PageRequest.class))).thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(orderRepository.findIds(any(PageRequest.class))).thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(orderReadRepository.findAllByIds(anyList())).thenReturn(Collections.emptyList());
         Page<OrderResponse> response = orderService.listOrders(PageRequest.of(0, 10));
         assertNotNull(response);
         assertTrue(response.getContent().isEmpty());
@@ -262,20 +723,20 @@ class OrderServiceTest {
 
     @Test
     void listOrders_WithSorting_Success() {
-        Page<Order> orderPage = new PageImpl<>(List.of(order));
         PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("createdAt").descending());
-        when(orderRepository.findAll(pageRequest)).thenReturn(orderPage);
+        when(orderRepository.findIds(pageRequest)).thenReturn(new PageImpl<>(List.of(1L), pageRequest, 1));
+        when(orderReadRepository.findAllByIds(List.of(1L))).thenReturn(List.of(orderResponse(1L)));
 
         Page<OrderResponse> response = orderService.listOrders(pageRequest);
 
         assertNotNull(response);
         assertEquals(1, response.getTotalElements());
-        verify(orderRepository).findAll(pageRequest);
+        verify(orderRepository).findIds(pageRequest);
     }
 
     @Test
     void cancelOrder_Success() {
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
 
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
@@ -285,12 +746,13 @@ class OrderServiceTest {
 
         assertNotNull(response);
         assertEquals(OrderStatus.CANCELLED, response.getStatus());
+        verify(orderOutbox).record(OrderEventType.ORDER_CANCELLED, response);
     }
 
     @Test
     void cancelOrder_AlreadyCancelled_ThrowsException() {
         order.setStatus(OrderStatus.CANCELLED);
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
 
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
         updateRequest.setStatus(OrderStatus.CANCELLED);
@@ -301,7 +763,7 @@ class OrderServiceTest {
     @Test
     void cancelOrder_PendingOrder_NoRefundCalled() {
         order.setStatus(OrderStatus.PENDING);
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
 
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
@@ -318,7 +780,7 @@ class OrderServiceTest {
         order.setStatus(OrderStatus.CONFIRMED);
         order.setPaymentTransactionId("TXN-123");
         order.setRefundTransactionId("REF-456"); // Already refunded
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
 
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
@@ -334,7 +796,7 @@ class OrderServiceTest {
     void cancelOrder_ConfirmedOrder_RefundSuccess_StoresRefundId() {
         order.setStatus(OrderStatus.CONFIRMED);
         order.setPaymentTransactionId("TXN-123");
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
 
         PaymentResponse refundResponse = PaymentResponse.builder()
@@ -354,31 +816,169 @@ class OrderServiceTest {
     }
 
     @Test
-    void cancelOrder_UsesPessimisticLock() {
+    void cancelOrder_ConfirmedOrder_RefundsWithoutRowLock() {
         order.setStatus(OrderStatus.CONFIRMED);
         order.setPaymentTransactionId("TXN-123");
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
 
-        PaymentResponse refundResponse = PaymentResponse.builder()
-                .status("REFUNDED")
-                .transactionId("REF-789")
-                .build();
-        when(paymentClient.refundPayment(eq("TXN-123"), any(BigDecimal.class))).thenReturn(refundResponse);
+        List<OrderStatus> statusDuringRefund = new ArrayList<>();
+        when(paymentClient.refundPayment(eq("TXN-123"), any(BigDecimal.class))).thenAnswer(invocation -> {
+            statusDuringRefund.add(order.getStatus());
+            return PaymentResponse.builder().status("REFUNDED").transactionId("REF-789").build();
+        });
 
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
         updateRequest.setStatus(OrderStatus.CANCELLED);
 
         orderService.cancelOrder(1L, updateRequest);
 
-        // Verify pessimistic lock method was called instead of regular findById
-        verify(orderRepository, times(1)).findByIdWithLock(1L);
-        verify(orderRepository, never()).findById(anyLong());
+        // The refund runs between two short transactions, against the CANCELLING state
+        assertEquals(List.of(OrderStatus.CANCELLING), statusDuringRefund);
+        verify(orderRepository, never()).findByIdWithLock(anyLong());
+        verify(orderOutbox, times(1)).record(eq(OrderEventType.ORDER_CANCELLED), any(OrderResponse.class));
+        verify(orderOutbox, times(1)).record(eq(OrderEventType.ORDER_REFUNDED), any(OrderResponse.class));
+    }
+
+    @Test
+    void cancelOrder_RefundServiceDown_LeavesOrderCancelling() {
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentTransactionId("TXN-123");
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+        when(paymentClient.refundPayment(eq("TXN-123"), any(BigDecimal.class)))
+                .thenThrow(new ServiceUnavailableException("Payment service unavailable"));
+
+        UpdateOrderRequest updateRequest = new UpdateOrderRequest();
+        updateRequest.setStatus(OrderStatus.CANCELLED);
+
+        OrderResponse response = orderService.cancelOrder(1L, updateRequest);
+
+        assertEquals(OrderStatus.CANCELLING, response.getStatus());
+        assertEquals(OrderStatus.CANCELLING, order.getStatus());
+        // The cancel is announced once; the refund is announced when it completes
+        verify(orderOutbox).record(OrderEventType.ORDER_CANCELLED, response);
+        verify(orderOutbox, never()).record(eq(OrderEventType.ORDER_REFUNDED), any(OrderResponse.class));
+    }
+
+    @Test
+    void cancelOrder_AlreadyCancelling_ThrowsException() {
+        order.setStatus(OrderStatus.CANCELLING);
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+
+        UpdateOrderRequest updateRequest = new UpdateOrderRequest();
+        updateRequest.setStatus(OrderStatus.CANCELLED);
+
+        assertThrows(InvalidOrderStatusException.class, () -> orderService.cancelOrder(1L, updateRequest));
+        verify(paymentClient, never()).refundPayment(anyString(), any(BigDecimal.class));
+    }
+
+    @Test
+    void completeCancellation_RefundsAndFinalizes() {
+        order.setStatus(OrderStatus.CANCELLING);
+        order.setPaymentTransactionId("TXN-123");
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentClient.refundPayment(eq("TXN-123"), any(BigDecimal.class)))
+                .thenReturn(PaymentResponse.builder().status("REFUNDED").transactionId("REF-789").build());
+
+        orderService.completeCancellation(1L);
+
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals("REF-789", order.getRefundTransactionId());
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_REFUNDED), any(OrderResponse.class));
+        verify(orderOutbox, never()).record(eq(OrderEventType.ORDER_CANCELLED), any(OrderResponse.class));
+    }
+
+    @Test
+    void failRefund_CancellingOrder_ParkedForReview() {
+        order.setStatus(OrderStatus.CANCELLING);
+        when(orderRepository.findByIdWithLock(1L)).thenReturn(Optional.of(order));
+
+        orderService.failRefund(1L);
+
+        assertEquals(OrderStatus.REFUND_FAILED, order.getStatus());
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_REFUND_FAILED), any(OrderResponse.class));
+    }
+
+    @Test
+    void completeCancellation_NotCancelling_DoesNothing() {
+        order.setStatus(OrderStatus.CANCELLED);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.completeCancellation(1L);
+
+        verify(paymentClient, never()).refundPayment(anyString(), any(BigDecimal.class));
+    }
+
+    @Test
+    void cancelOrders_ByIds_ReportsEachOrder() {
+        Order confirmed = Order.builder().id(2L).memberId("M001").status(OrderStatus.CONFIRMED)
+                .paymentTransactionId("TXN-2").totalAmount(BigDecimal.TEN).items(List.of()).build();
+        Order cancelled = Order.builder().id(3L).memberId("M001").status(OrderStatus.CANCELLED)
+                .items(List.of()).build();
+        when(orderRepository.findAllByIdWithLock(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(order, confirmed, cancelled));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.findById(2L)).thenReturn(Optional.of(confirmed));
+        when(paymentClient.refundPayment(eq("TXN-2"), any(BigDecimal.class)))
+                .thenReturn(PaymentResponse.builder().status("REFUNDED").transactionId("REF-2").build());
+
+        BatchCancelOrderRequest request = new BatchCancelOrderRequest();
+        request.setOrderIds(List.of(1L, 2L, 3L, 4L, 1L));
+
+        BatchCancelResponse response = orderService.cancelOrders(request);
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        List<BatchCancelResult> results = response.getResults();
+        assertEquals(OrderStatus.CANCELLED, results.get(0).getOrder().getStatus());
+        assertEquals(OrderStatus.CANCELLED, results.get(1).getOrder().getStatus());
+        assertEquals("REF-2", confirmed.getRefundTransactionId());
+        assertEquals("INVALID_ORDER_STATUS", results.get(2).getError());
+        assertEquals(4L, results.get(3).getOrderId());
+        assertEquals("ORDER_NOT_FOUND", results.get(3).getError());
+        verify(orderRepository, never()).findByIdWithLock(anyLong());
+    }
+
+    @Test
+    void cancelOrders_ByMember_CancelsOpenOrders() {
+        when(orderRepository.findIdsByMemberIdAndStatusIn(eq("M001"), anyCollection(), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(orderRepository.findAllByIdWithLock(List.of(1L))).thenReturn(List.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchCancelOrderRequest request = new BatchCancelOrderRequest();
+        request.setMemberId("M001");
+
+        BatchCancelResponse response = orderService.cancelOrders(request);
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertFalse(response.isHasMore());
+        verify(paymentClient, never()).refundPayment(anyString(), any(BigDecimal.class));
+    }
+
+    @Test
+    void cancelOrders_ByMemberBeyondLimit_TakesOnePageAndReportsMore() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+        when(orderRepository.findIdsByMemberIdAndStatusIn(eq("M001"), anyCollection(), any(Pageable.class)))
+                .thenReturn(ids);
+
+        BatchCancelOrderRequest request = new BatchCancelOrderRequest();
+        request.setMemberId("M001");
+
+        BatchCancelResponse response = orderService.cancelOrders(request);
+
+        assertTrue(response.isHasMore());
+        assertEquals(500, response.getResults().size());
+        verify(orderRepository).findIdsByMemberIdAndStatusIn(eq("M001"), anyCollection(),
+                eq(PageRequest.of(0, 501)));
     }
 
     @Test
     void cancelOrder_OrderNotFound() {
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.empty());
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
         
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
         updateRequest.setStatus(OrderStatus.CANCELLED);
@@ -389,7 +989,7 @@ class OrderServiceTest {
     @Test
     void cancelOrder_InvalidStatus_NotCancelled() {
         order.setStatus(OrderStatus.PENDING);
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
         updateRequest.setStatus(OrderStatus.CONFIRMED); // Invalid: should be CANCELLED
@@ -418,7 +1018,7 @@ class OrderServiceTest {
         when(productClient.getProduct("P001")).thenReturn(product1);
         when(productClient.getProduct("P002")).thenReturn(product2);
         when(productClient.getStock(anyString())).thenReturn(abundantStock);
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
+        stubOrderPersistence();
         when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
         
         OrderResponse response = orderService.createOrder(createRequest);
@@ -442,7 +1042,7 @@ class OrderServiceTest {
     void cancelOrder_RefundFailed() {
         order.setStatus(OrderStatus.CONFIRMED);
         order.setPaymentTransactionId("TXN-123");
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
         
         PaymentResponse failedRefund = PaymentResponse.builder()
@@ -456,8 +1056,8 @@ class OrderServiceTest {
         
         orderService.cancelOrder(1L, updateRequest);
         
-        // Order should still be cancelled even if refund failed
-        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        // Order stays CANCELLING until the refund retry job succeeds
+        assertEquals(OrderStatus.CANCELLING, order.getStatus());
         // refundTransactionId should NOT be set because refund status != REFUNDED
         assertNull(order.getRefundTransactionId());
     }
@@ -465,7 +1065,7 @@ class OrderServiceTest {
     @Test
     void cancelOrder_PaymentFailedOrder() {
         order.setStatus(OrderStatus.PAYMENT_FAILED);
-        when(orderRepository.findByIdWithLock(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> { Order o = invocation.getArgument(0); o.setId(1L); return o; });
         
         UpdateOrderRequest updateRequest = new UpdateOrderRequest();
@@ -477,4 +1077,88 @@ class OrderServiceTest {
         assertEquals(OrderStatus.CANCELLED, order.getStatus());
         verify(paymentClient, never()).refundPayment(anyString(), any(BigDecimal.class));
     }
+
+    @Test
+    void createOrder_MultipleFailures_ReportsFirstItemInRequestOrder() {
+        OrderItemRequest item1 = new OrderItemRequest();
+        item1.setProductId("P001");
+        item1.setQuantity(5);
+
+        OrderItemRequest item2 = new OrderItemRequest();
+        item2.setProductId("P002");
+        item2.setQuantity(1);
+
+        createRequest.setItems(List.of(item1, item2));
+
+        ProductStockResponse lowStock = ProductStockResponse.builder().productId("P001").availableQuantity(1).build();
+
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProduct("P001")).thenReturn(availableProduct);
+        when(productClient.getProduct("P002")).thenReturn(null);
+        when(productClient.getStock(anyString())).thenReturn(lowStock);
+
+        // P002 is missing too, but P001 comes first in the request
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(createRequest));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void createOrder_DuplicateProductLines_LookedUpOnce() {
+        OrderItemRequest item1 = new OrderItemRequest();
+        item1.setProductId("P001");
+        item1.setQuantity(1);
+
+        OrderItemRequest item2 = new OrderItemRequest();
+        item2.setProductId("P001");
+        item2.setQuantity(2);
+
+        createRequest.setItems(List.of(item1, item2));
+
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProduct("P001")).thenReturn(availableProduct);
+        when(productClient.getStock("P001")).thenReturn(abundantStock);
+        stubOrderPersistence();
+        when(paymentClient.createPayment(any(PaymentRequest.class))).thenReturn(completedPayment);
+
+        OrderResponse response = orderService.createOrder(createRequest);
+
+        assertEquals(2, response.getItems().size());
+        verify(productClient, times(1)).getProduct("P001");
+        verify(productClient, times(1)).getStock("P001");
+    }
+
+    @Test
+    void createOrder_MemberInactive_CancelsPendingProductLookups() {
+        CompletableFuture<ProductResponse> product = new CompletableFuture<>();
+        CompletableFuture<ProductStockResponse> stock = new CompletableFuture<>();
+        activeMember.setStatus("INACTIVE");
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProductAsync("P001")).thenReturn(product);
+        when(productClient.getStockAsync("P001")).thenReturn(stock);
+
+        assertThrows(MemberInactiveException.class, () -> orderService.createOrder(createRequest));
+
+        // Lookups still in flight are cancelled rather than awaited
+        assertTrue(product.isCancelled());
+        assertTrue(stock.isCancelled());
+    }
+
+    @Test
+    void createOrder_PaymentTimedOut_HoldsOrderForReconciliation() {
+        when(memberClient.getMember(anyString())).thenReturn(activeMember);
+        when(productClient.getProduct("P001")).thenReturn(availableProduct);
+        when(productClient.getStock("P001")).thenReturn(abundantStock);
+        Map<Long, Order> saved = stubOrderPersistence();
+        when(paymentClient.createPaymentAsync(any(PaymentRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("TimeLimiter 'paymentService'")));
+
+        assertThrows(PaymentOutcomeUnknownException.class, () -> orderService.createOrder(createRequest));
+
+        // The payment may have gone through; it is neither retried nor failed
+        assertEquals(OrderStatus.PAYMENT_UNKNOWN, saved.get(1L).getStatus());
+        verify(orderOutbox).record(eq(OrderEventType.ORDER_PAYMENT_UNKNOWN), any(OrderResponse.class));
+        verify(paymentTaskRepository).deleteByOrderId(1L);
+        verify(paymentTaskRepository, never()).markChargeRequested(1L, false);
+        verify(stockReservationRepository, never()).deleteByOrderId(anyLong());
+    }
 }
@@ -0,0 +1,151 @@
+package com.sotatek.order.service;
+
+import com.sotatek.order.config.StockReservationProperties;
+import com.sotatek.order.exception.InsufficientStockException;
+import com.sotatek.order.model.entity.Order;
+import com.sotatek.order.model.entity.OrderItem;
+import com.sotatek.order.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("null")
+class StockReservationServiceTest {
+
+    private StockReservationRepository repository;
+    private StockReservationProperties properties;
+    private StockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(StockReservationRepository.class);
+        properties = new StockReservationProperties();
+        service = new StockReservationService(repository, properties);
+    }
+
+    private static Order orderOf(Map<String, Integer> lines) {
+        Order order = Order.builder().build();
+        lines.forEach((productId, quantity) -> order.addItem(
+                OrderItem.builder().productId(productId).quantity(quantity).build()));
+        return order;
+    }
+
+    @Test
+    void reserve_HotProductUnderContention_NeverOversells() throws Exception {
+        int threads = 16;
+        int attempts = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.reserve(orderOf(Map.of("HOT", 1)), Map.of("HOT", 500));
+                        return true;
+                    } catch (InsufficientStockException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    reserved++;
+                }
+            }
+            assertEquals(500, reserved);
+            assertEquals(500, service.reservedQuantity("HOT"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reserve_OneLineShort_ReservesNothing() {
+        Order order = orderOf(Map.of("A", 2, "B", 5));
+
+        assertThrows(InsufficientStockException.class,
+                () -> service.reserve(order, Map.of("A", 10, "B", 4)));
+
+        assertEquals(0, service.reservedQuantity("A"));
+        assertEquals(0, service.reservedQuantity("B"));
+    }
+
+    @Test
+    void release_ReturnsStockOnce() {
+        StockReservationService.Hold hold = service.reserve(orderOf(Map.of("A", 3)), Map.of("A", 3));
+        service.attach(hold, 1L);
+
+        service.release(1L);
+        service.release(hold);
+
+        assertEquals(0, service.reservedQuantity("A"));
+        verify(repository).deleteByOrderId(1L);
+        service.reserve(orderOf(Map.of("A", 3)), Map.of("A", 3));
+    }
+
+    @Test
+    void commit_PaidOrder_KeepsHoldUntilConfirmedTtl() {
+        properties.setHoldTtl(Duration.ofMillis(-1));
+        StockReservationService.Hold hold = service.reserve(orderOf(Map.of("A", 3)), Map.of("A", 3));
+        service.attach(hold, 1L);
+
+        service.commit(1L);
+        service.expireHolds();
+
+        // The product service still reports the sold units as available
+        assertEquals(3, service.reservedQuantity("A"));
+        assertThrows(InsufficientStockException.class,
+                () -> service.reserve(orderOf(Map.of("A", 1)), Map.of("A", 3)));
+        verify(repository).extendByOrderId(eq(1L), any());
+        verify(repository, never()).deleteByOrderId(any());
+
+        // Cancelling the paid order returns its stock
+        service.release(1L);
+        assertEquals(0, service.reservedQuantity("A"));
+    }
+
+    @Test
+    void holdForReconciliation_PaymentUnknown_OutlivesPendingTtl() {
+        properties.setHoldTtl(Duration.ofMillis(-1));
+        StockReservationService.Hold hold = service.reserve(orderOf(Map.of("A", 3)), Map.of("A", 3));
+        service.attach(hold, 1L);
+
+        service.holdForReconciliation(1L);
+        service.expireHolds();
+
+        // The order may have been charged, so its units stay held
+        assertEquals(3, service.reservedQuantity("A"));
+        verify(repository).extendByOrderId(eq(1L), any());
+        verify(repository, never()).deleteByOrderId(any());
+    }
+
+    @Test
+    void expireHolds_ReleasesHoldsPastTtl() {
+        properties.setHoldTtl(Duration.ofMillis(-1));
+        service.reserve(orderOf(Map.of("A", 3)), Map.of("A", 3));
+
+        service.expireHolds();
+
+        assertEquals(0, service.reservedQuantity("A"));
+        verify(repository).deleteExpired(any());
+    }
+}